@@ -0,0 +1,80 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.broadphase.SpatialHashGrid;
+import gizmoball.engine.collision.detector.DetectorUtil;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>球与球之间BroadPhase的对比</p>
+ * <p>bruteForce为原先BallListener中的i < j双重循环，spatialHash为{@link SpatialHashGrid}</p>
+ * <p>球的分布范围随球数增长，保持密度不变，用于找出两者的交叉点</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BallBroadPhaseBenchmark {
+
+    @Param({"2", "8", "16", "32", "64", "128", "512", "2048", "8192"})
+    public int ballCount;
+
+    /**
+     * 球的半径，与默认网格的球一致
+     */
+    private static final double RADIUS = 15;
+
+    /**
+     * 每个球平均占据的边长
+     */
+    private static final double SPACING = 60;
+
+    private List<PhysicsBody> balls;
+
+    private final SpatialHashGrid spatialHashGrid = new SpatialHashGrid();
+
+    private final PairBuffer pairs = new PairBuffer();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double size = SPACING * Math.sqrt(ballCount);
+        balls = new ArrayList<>(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            Transform transform = new Transform(1, 0, random.nextDouble() * size, random.nextDouble() * size);
+            balls.add(new PhysicsBody(new Ball(RADIUS, transform)));
+        }
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        pairs.clear();
+        for (int i = 0; i < balls.size() - 1; i++) {
+            for (int j = i + 1; j < balls.size(); j++) {
+                PhysicsBody body1 = balls.get(i);
+                PhysicsBody body2 = balls.get(j);
+                if (DetectorUtil.AABBDetect(body1.getShape(), body2.getShape())) {
+                    pairs.add(body1, body2);
+                }
+            }
+        }
+        return pairs.size();
+    }
+
+    @Benchmark
+    public int spatialHash() {
+        pairs.clear();
+        spatialHashGrid.detect(balls, pairs);
+        return pairs.size();
+    }
+}
@@ -0,0 +1,80 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.collision.broadphase.BroadPhase;
+import gizmoball.engine.collision.broadphase.DynamicAABBTree;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.contact.ContactConstraint;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.ObstacleCircle;
+import gizmoball.game.entity.ObstacleRectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>从BroadPhase到接触约束的检测管线：{@link DynamicAABBTree#detect}将候选碰撞对写入{@link PairBuffer}，
+ * {@link BasicCollisionDetector#detect}写入{@link ContactBuffer}，再由{@link BasicCollisionDetector#preLocalSolve}更新接触约束缓存</p>
+ * <p>每个球略微嵌入一个障碍物，每次调用的碰撞对和接触点不变，模拟稳定状态的tick</p>
+ * <p>使用-prof gc运行，包括BroadPhase在内的各缓冲区和约束缓存在预热后不再创建对象，
+ * 球与圆形、矩形的检测都使用{@link gizmoball.engine.collision.detector.CollisionDispatcher}的闭式解，两者的gc.alloc.rate.norm都应接近0</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionPipelineBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pairCount;
+
+    @Param({"circle", "rectangle"})
+    public String obstacle;
+
+    private static final double RADIUS = 15;
+
+    private final BasicCollisionDetector detector = new BasicCollisionDetector();
+
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    private final PairBuffer pairs = new PairBuffer();
+
+    private BroadPhase broadPhase;
+
+    @Setup
+    public void setup() {
+        broadPhase = new DynamicAABBTree();
+        for (int i = 0; i < pairCount; i++) {
+            double x = RADIUS * 4 * i;
+            AbstractShape shape = "circle".equals(obstacle)
+                    ? new ObstacleCircle(RADIUS, new Transform(1, 0, x, 0))
+                    : new ObstacleRectangle(RADIUS, RADIUS, new Transform(1, 0, x, 0));
+            PhysicsBody body = new PhysicsBody(shape);
+            body.setMass(new Mass(new Vector2(), 0.0, 0.0));
+            // 嵌入障碍物1个单位
+            PhysicsBody ball = new PhysicsBody(new Ball(RADIUS, new Transform(1, 0, x, RADIUS * 2 - 1)));
+            ball.setMass(ball.getShape().createMass(1));
+            broadPhase.add(body);
+            broadPhase.add(ball);
+        }
+    }
+
+    @Benchmark
+    public List<ContactConstraint> detect() {
+        pairs.clear();
+        broadPhase.detect(pairs);
+        contacts.clear();
+        detector.detect(pairs, Collections.emptyList(), contacts);
+        return detector.preLocalSolve(contacts);
+    }
+}
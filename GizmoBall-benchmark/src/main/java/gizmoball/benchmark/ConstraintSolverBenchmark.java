@@ -0,0 +1,117 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.AbstractWorld;
+import gizmoball.engine.collision.contact.ConstraintSolver;
+import gizmoball.engine.collision.contact.SequentialImpulses;
+import gizmoball.engine.collision.contact.SoftStepSolver;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.Rectangle;
+import gizmoball.engine.physics.Mass;
+import gizmoball.game.GizmoBody;
+import gizmoball.game.GizmoType;
+import gizmoball.game.GizmoWorld;
+import gizmoball.game.entity.Ball;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link SequentialImpulses}与{@link SoftStepSolver}在堆叠场景中的tick开销和穿透误差</p>
+ * <p>10列球落入宽度刚好的井中堆叠，回弹系数与游戏一致，每轮测量前重新生成场景，使各轮的场景演化一致</p>
+ * <p>每轮测量结束时输出平均每tick的求解迭代次数（速度和位置之和）、最大穿透深度和球的均方根速度，
+ * 均方根速度接近0说明堆叠已经静止</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstraintSolverBenchmark {
+
+    @Param({"sequential", "soft"})
+    public String solver;
+
+    @Param({"5", "20"})
+    public int rows;
+
+    private static final int COLUMNS = 10;
+
+    private static final double RADIUS = 15;
+
+    private GizmoWorld<GizmoBody> world;
+
+    private final List<GizmoBody> balls = new ArrayList<>();
+
+    private long ticks;
+
+    private long iterations;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        world = new GizmoWorld<>(AbstractWorld.EARTH_GRAVITY);
+        world.setSleepEnabled(false);
+        ConstraintSolver constraintSolver = "soft".equals(solver) ? new SoftStepSolver() : new SequentialImpulses();
+        world.setSolver(constraintSolver);
+
+        double width = COLUMNS * RADIUS * 2;
+        addBoundary(width, 50, width / 2, -50);
+        addBoundary(50, rows * RADIUS * 4, -50, rows * RADIUS * 2);
+        addBoundary(50, rows * RADIUS * 4, width + 50, rows * RADIUS * 2);
+
+        balls.clear();
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < COLUMNS; i++) {
+                // 隔行错开，使球下落时相互挤压
+                double x = RADIUS + i * RADIUS * 2 + (j % 2) * 0.5;
+                double y = RADIUS + j * RADIUS * 2 + 0.5;
+                GizmoBody ball = new GizmoBody(new Ball(RADIUS, new Transform(1, 0, x, y)), GizmoType.BALL);
+                ball.setMass(ball.getShape().createMass(1));
+                ball.setRestitution(0.95);
+                ball.setFriction(0.4);
+                ball.setRestitutionVelocity(10);
+                world.addBody(ball);
+                balls.add(ball);
+            }
+        }
+        ticks = 0;
+        iterations = 0;
+    }
+
+    private void addBoundary(double halfWidth, double halfHeight, double x, double y) {
+        GizmoBody border = new GizmoBody(new Rectangle(halfWidth, halfHeight, new Transform(1, 0, x, y)), GizmoType.BOUNDARY);
+        border.setMass(new Mass(new Vector2(), 0.0, 0.0));
+        border.setRestitution(0.95);
+        border.setFriction(0.5);
+        world.addBody(border);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        double maxPenetration = 0;
+        double kinetic = 0;
+        for (int i = 0; i < balls.size(); i++) {
+            Transform t1 = balls.get(i).getShape().getTransform();
+            maxPenetration = Math.max(maxPenetration, RADIUS - t1.y);
+            kinetic += balls.get(i).getLinearVelocity().getMagnitudeSquared();
+            for (int j = i + 1; j < balls.size(); j++) {
+                Transform t2 = balls.get(j).getShape().getTransform();
+                double distance = Math.hypot(t1.x - t2.x, t1.y - t2.y);
+                maxPenetration = Math.max(maxPenetration, RADIUS * 2 - distance);
+            }
+        }
+        System.out.printf("%n%s rows=%d ticks=%d iterations/tick=%.2f maxPenetration=%.3f rmsVelocity=%.3f%n",
+                solver, rows, ticks, (double) iterations / Math.max(1, ticks), maxPenetration, Math.sqrt(kinetic / balls.size()));
+    }
+
+    @Benchmark
+    public GizmoWorld<GizmoBody> tick() {
+        world.tick();
+        ticks++;
+        iterations += world.getSolver().getVelocityIterations() + world.getSolver().getPositionIterations();
+        return world;
+    }
+}
@@ -0,0 +1,92 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.collision.detector.DetectorUtil;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.Circle;
+import gizmoball.engine.geometry.shape.QuarterCircle;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.CurvedPipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>铺满弯管道的场景中，每个管道与一个球的{@link DetectorUtil#satDetect}开销</p>
+ * <p>管道按格子排列并随机旋转90°的整数倍，球随机位于管道的圆弧、直边、内部或外部。
+ * 扇形的近似图形缓存在形状中，配合{@code -prof gc}观察每次操作的分配字节数（{@code gc.alloc.rate.norm}）</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CurvedPipeBenchmark {
+
+    @Param({"100", "400"})
+    public int pipeCount;
+
+    private static final double RADIUS = 15;
+
+    private static final double SIZE = 30;
+
+    private QuarterCircle[] pipes;
+
+    private Circle[] balls;
+
+    private final Penetration penetration = new Penetration();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int columns = (int) Math.ceil(Math.sqrt(pipeCount));
+        pipes = new QuarterCircle[pipeCount];
+        balls = new Circle[pipeCount];
+        for (int i = 0; i < pipeCount; i++) {
+            double x = (i % columns + 0.5) * SIZE;
+            double y = (i / columns + 0.5) * SIZE;
+            CurvedPipe pipe = new CurvedPipe(new Transform(1, 0, x, y), SIZE);
+            pipe.rotate(Math.PI / 2 * random.nextInt(4), x, y);
+            pipes[i] = pipe;
+
+            // 圆心位于局部坐标(-SIZE / 2, -SIZE / 2)
+            double corner = -SIZE / 2;
+            Vector2 local;
+            switch (random.nextInt(4)) {
+                case 0:
+                    // 与圆弧穿透
+                    double distance = (SIZE + RADIUS - 1) / Math.sqrt(2);
+                    local = new Vector2(corner + distance, corner + distance);
+                    break;
+                case 1:
+                    // 与直边穿透
+                    local = new Vector2(corner - RADIUS + 1, 0);
+                    break;
+                case 2:
+                    // 在管道内部
+                    local = new Vector2(corner + SIZE / 2, corner + SIZE / 2);
+                    break;
+                default:
+                    // 不接触
+                    local = new Vector2(corner - RADIUS - 1, 0);
+                    break;
+            }
+            Vector2 world = pipe.getTransform().getTransformed(local);
+            balls[i] = new Ball(RADIUS, new Transform(1, 0, world.x, world.y));
+        }
+    }
+
+    @Benchmark
+    public int satDetect() {
+        int collisions = 0;
+        for (int i = 0; i < pipeCount; i++) {
+            if (DetectorUtil.satDetect(balls[i], pipes[i], null, penetration).isHasCollision()) {
+                collisions++;
+            }
+        }
+        return collisions;
+    }
+}
@@ -0,0 +1,201 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.collision.detector.CollisionDispatcher;
+import gizmoball.engine.collision.detector.DetectorResult;
+import gizmoball.engine.collision.detector.DetectorUtil;
+import gizmoball.engine.collision.detector.GjkNarrowPhase;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.geometry.shape.Circle;
+import gizmoball.engine.geometry.shape.QuarterCircle;
+import gizmoball.game.entity.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link DetectorUtil}各形状组合的窄相检测开销</p>
+ * <p>游戏中的碰撞总是球与其他物体之间发生，因此每种组合的第一个形状均为球</p>
+ * <p>satPolygon、satCircle、satQuarterCircle经过{@link DetectorUtil#satDetect}的形状分派，
+ * circleDetect、quarterCircleDetect直接调用对应的检测方法</p>
+ * <p>dispatchPolygon、dispatchCircle、dispatchQuarterCircle经过{@link CollisionDispatcher}查表，
+ * 与对应的sat方法对比即为每种组合的加速比，flipper仍使用{@link DetectorUtil#satDetect}</p>
+ * <p>gjkPolygon、gjkQuarterCircle使用{@link GjkNarrowPhase}检测同样的形状组合，用于与SAT对比</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectorUtilBenchmark {
+
+    private static final double RADIUS = 15;
+
+    private static final double SIZE = 30;
+
+    /**
+     * 球与多边形
+     */
+    @State(Scope.Thread)
+    public static class PolygonPair {
+
+        @Param({"rectangle", "triangle", "flipper"})
+        public String target;
+
+        /**
+         * 是否穿透1个单位，否则相距1个单位
+         */
+        @Param({"true", "false"})
+        public boolean colliding;
+
+        Circle ball;
+
+        AbstractShape polygon;
+
+        final Penetration penetration = new Penetration();
+
+        final GjkNarrowPhase gjk = new GjkNarrowPhase();
+
+        @Setup
+        public void setup() {
+            double half = SIZE / 2;
+            switch (target) {
+                case "rectangle":
+                    polygon = new ObstacleRectangle(half, half, new Transform());
+                    break;
+                case "triangle":
+                    polygon = new ObstacleTriangle(new Vector2[]{
+                            new Vector2(-half, -half), new Vector2(half, -half), new Vector2(-half, half)}, new Transform());
+                    break;
+                case "flipper":
+                    polygon = new Flipper(new Vector2[]{
+                            new Vector2(-half, -half / 4), new Vector2(half, -half / 4), new Vector2(-half, half / 4)},
+                            new Transform(), Flipper.Direction.LEFT);
+                    break;
+                default:
+                    throw new IllegalArgumentException(target);
+            }
+            // 球位于多边形正下方
+            double bottom = polygon.createAABB().minY;
+            double y = bottom - RADIUS + (colliding ? 1 : -1);
+            ball = new Ball(RADIUS, new Transform(1, 0, -half / 2, y));
+        }
+    }
+
+    /**
+     * 球与圆形障碍物
+     */
+    @State(Scope.Thread)
+    public static class CirclePair {
+
+        @Param({"true", "false"})
+        public boolean colliding;
+
+        Circle ball;
+
+        Circle circle;
+
+        final Penetration penetration = new Penetration();
+
+        @Setup
+        public void setup() {
+            circle = new ObstacleCircle(SIZE / 2, new Transform());
+            double distance = RADIUS + SIZE / 2 + (colliding ? -1 : 1);
+            ball = new Ball(RADIUS, new Transform(1, 0, distance / Math.sqrt(2), distance / Math.sqrt(2)));
+        }
+    }
+
+    /**
+     * 球与弯管道
+     */
+    @State(Scope.Thread)
+    public static class QuarterCirclePair {
+
+        /**
+         * arc为球在两条半径所夹角度内与圆弧穿透，edge为球在角度外与直边穿透，separated为不接触
+         */
+        @Param({"arc", "edge", "separated"})
+        public String position;
+
+        Circle ball;
+
+        QuarterCircle quarterCircle;
+
+        final Penetration penetration = new Penetration();
+
+        final GjkNarrowPhase gjk = new GjkNarrowPhase();
+
+        @Setup
+        public void setup() {
+            quarterCircle = new CurvedPipe(new Transform(), SIZE);
+            // 圆心位于(-SIZE / 2, -SIZE / 2)
+            double corner = -SIZE / 2;
+            switch (position) {
+                case "arc":
+                    double distance = (SIZE + RADIUS - 1) / Math.sqrt(2);
+                    ball = new Ball(RADIUS, new Transform(1, 0, corner + distance, corner + distance));
+                    break;
+                case "edge":
+                    ball = new Ball(RADIUS, new Transform(1, 0, corner - RADIUS + 1, 0));
+                    break;
+                case "separated":
+                    ball = new Ball(RADIUS, new Transform(1, 0, corner - RADIUS - 1, 0));
+                    break;
+                default:
+                    throw new IllegalArgumentException(position);
+            }
+        }
+    }
+
+    @Benchmark
+    public DetectorResult satPolygon(PolygonPair pair) {
+        return DetectorUtil.satDetect(pair.ball, pair.polygon, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult satCircle(CirclePair pair) {
+        return DetectorUtil.satDetect(pair.ball, pair.circle, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult circleDetect(CirclePair pair) {
+        return DetectorUtil.circleDetect(pair.ball, pair.circle, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult satQuarterCircle(QuarterCirclePair pair) {
+        return DetectorUtil.satDetect(pair.ball, pair.quarterCircle, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult quarterCircleDetect(QuarterCirclePair pair) {
+        return DetectorUtil.quarterCircleDetect(pair.quarterCircle, pair.ball, pair.penetration, true);
+    }
+
+    @Benchmark
+    public DetectorResult dispatchPolygon(PolygonPair pair) {
+        return CollisionDispatcher.detect(pair.ball, pair.polygon, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult dispatchCircle(CirclePair pair) {
+        return CollisionDispatcher.detect(pair.ball, pair.circle, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult dispatchQuarterCircle(QuarterCirclePair pair) {
+        return CollisionDispatcher.detect(pair.ball, pair.quarterCircle, null, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult gjkPolygon(PolygonPair pair) {
+        return pair.gjk.detect(pair.ball, pair.polygon, pair.penetration);
+    }
+
+    @Benchmark
+    public DetectorResult gjkQuarterCircle(QuarterCirclePair pair) {
+        return pair.gjk.detect(pair.ball, pair.quarterCircle, pair.penetration);
+    }
+}
@@ -0,0 +1,69 @@
+package gizmoball.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.GizmoBody;
+import gizmoball.game.GizmoType;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.ObstacleRectangle;
+import gizmoball.ui.file.PersistentUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link PersistentUtil}保存和加载存档的开销</p>
+ * <p>只测量JSON序列化和反序列化，不包含文件读写</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistentUtilBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int bodyCount;
+
+    private List<PhysicsBody> bodies;
+
+    private String json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        bodies = new ArrayList<>(bodyCount);
+        for (int i = 0; i < bodyCount; i++) {
+            Transform transform = new Transform(1, 0, 15 + 30 * (i % 20), 15 + 30 * (i / 20));
+            GizmoBody body;
+            // 球和方形障碍物各占一半
+            if (i % 2 == 0) {
+                body = new GizmoBody(new Ball(15, transform), GizmoType.BALL);
+                body.setMass(body.getShape().createMass(1));
+            } else {
+                body = new GizmoBody(new ObstacleRectangle(15, 15, transform), GizmoType.RECTANGLE);
+                body.setMass(new Mass(new Vector2(), 0.0, 0.0));
+            }
+            body.setRestitution(0.95);
+            body.setFriction(0.5);
+            bodies.add(body);
+        }
+        json = PersistentUtil.toJsonString(bodies);
+    }
+
+    @Benchmark
+    public String save() throws JsonProcessingException {
+        return PersistentUtil.toJsonString(bodies);
+    }
+
+    @Benchmark
+    public List<PhysicsBody> load() throws IOException {
+        return PersistentUtil.fromJsonString(json);
+    }
+}
@@ -0,0 +1,151 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.contact.ContactConstraint;
+import gizmoball.engine.collision.contact.SequentialImpulses;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.ObstacleRectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>{@link SequentialImpulses}速度求解和位置求解的开销</p>
+ * <p>每个球略微嵌入地面，产生一个碰撞约束，每次调用固定执行{@link Settings#DEFAULT_SOLVER_ITERATIONS}次迭代</p>
+ * <p>使用-prof gc运行，各基准的gc.alloc.rate.norm应接近0，SequentialImpulsesAllocationTest对同一场景强制检查</p>
+ * <p>每个球只与地面接触，各自构成一个接触岛，sequential和islands对比整体求解与按接触岛并行求解（均在收敛后提前结束），
+ * islands使用专用的线程池</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SequentialImpulsesBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int constraintCount;
+
+    private static final double RADIUS = 15;
+
+    private final SequentialImpulses solver = new SequentialImpulses();
+
+    private final SequentialImpulses islandSolver = new SequentialImpulses();
+
+    private ForkJoinPool islandPool;
+
+    private List<PhysicsBody> balls;
+
+    private List<ContactConstraint> constraints;
+
+    /**
+     * 每个球的初始状态，按x, y, vx, vy依次存放
+     */
+    private double[] initialState;
+
+    @Setup
+    public void setup() {
+        double width = RADIUS * 4 * constraintCount;
+        PhysicsBody floor = new PhysicsBody(new ObstacleRectangle(width / 2, 10, new Transform(1, 0, width / 2, 0)));
+        floor.setMass(new Mass(new Vector2(), 0.0, 0.0));
+
+        balls = new ArrayList<>(constraintCount);
+        initialState = new double[constraintCount * 4];
+        PairBuffer pairs = new PairBuffer(constraintCount);
+        for (int i = 0; i < constraintCount; i++) {
+            double x = RADIUS * 2 + RADIUS * 4 * i;
+            // 嵌入地面1个单位
+            double y = 10 + RADIUS - 1;
+            PhysicsBody ball = new PhysicsBody(new Ball(RADIUS, new Transform(1, 0, x, y)));
+            ball.setMass(ball.getShape().createMass(1));
+            ball.getLinearVelocity().y = -50;
+            balls.add(ball);
+            pairs.add(ball, floor);
+            initialState[i * 4] = x;
+            initialState[i * 4 + 1] = y;
+            initialState[i * 4 + 2] = 0;
+            initialState[i * 4 + 3] = -50;
+        }
+        BasicCollisionDetector detector = new BasicCollisionDetector();
+        ContactBuffer contacts = new ContactBuffer(constraintCount);
+        detector.detect(pairs, Collections.emptyList(), contacts);
+        // 缓存返回的列表在下次更新时复用，这里只更新一次
+        constraints = detector.preLocalSolve(contacts);
+        reset();
+        solver.initialize(constraints);
+        islandPool = new ForkJoinPool(Math.min(4, Runtime.getRuntime().availableProcessors()));
+        islandSolver.setIslandPool(islandPool);
+        islandSolver.initialize(constraints);
+    }
+
+    @TearDown
+    public void tearDown() {
+        islandPool.shutdown();
+    }
+
+    /**
+     * 恢复球的初始位置和速度，使每次调用的求解量一致
+     */
+    private void reset() {
+        for (int i = 0; i < constraintCount; i++) {
+            PhysicsBody ball = balls.get(i);
+            Transform transform = ball.getShape().getTransform();
+            transform.cost = 1;
+            transform.sint = 0;
+            transform.x = initialState[i * 4];
+            transform.y = initialState[i * 4 + 1];
+            transform.markModified();
+            ball.getLinearVelocity().x = initialState[i * 4 + 2];
+            ball.getLinearVelocity().y = initialState[i * 4 + 3];
+            ball.setAngularVelocity(0);
+        }
+    }
+
+    @Benchmark
+    public double velocity() {
+        reset();
+        double delta = 0;
+        for (int i = 0; i < Settings.DEFAULT_SOLVER_ITERATIONS; i++) {
+            delta = solver.solveVelocityConstraints(constraints);
+        }
+        return delta;
+    }
+
+    @Benchmark
+    public double position() {
+        reset();
+        double penetration = 0;
+        for (int i = 0; i < Settings.DEFAULT_SOLVER_ITERATIONS; i++) {
+            penetration = solver.solvePositionConstraints(constraints);
+        }
+        return penetration;
+    }
+
+    @Benchmark
+    public int sequential() {
+        reset();
+        solver.solveVelocity(constraints);
+        solver.solvePosition(constraints);
+        return solver.getVelocityIterations() + solver.getPositionIterations();
+    }
+
+    @Benchmark
+    public int islands() {
+        reset();
+        islandSolver.solveVelocity(constraints);
+        islandSolver.solvePosition(constraints);
+        return islandSolver.getVelocityIterations() + islandSolver.getPositionIterations();
+    }
+}
@@ -0,0 +1,152 @@
+package gizmoball.benchmark;
+
+import gizmoball.engine.AbstractWorld;
+import gizmoball.engine.collision.broadphase.DynamicAABBTree;
+import gizmoball.engine.collision.broadphase.GridBroadPhase;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.geometry.shape.Rectangle;
+import gizmoball.engine.physics.Mass;
+import gizmoball.game.GizmoBody;
+import gizmoball.game.GizmoSettings;
+import gizmoball.game.GizmoType;
+import gizmoball.game.GizmoWorld;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.ObstacleCircle;
+import gizmoball.game.entity.ObstacleRectangle;
+import gizmoball.game.entity.ObstacleTriangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>无界面{@link GizmoWorld#tick()}的整体开销</p>
+ * <p>场景按球数生成：世界划分为边长{@link #CELL}的格子，球和障碍物（方形、圆形、三角形交替）各占一半的格子，
+ * 球在格子内随机偏移并带有随机初速度，四周为边界。每轮测量前重新生成场景，使各轮的场景演化一致</p>
+ * <p>sleep对比开启和关闭休眠，球静止后开启休眠的tick开销应接近0</p>
+ * <p>broadPhase对比{@link DynamicAABBTree}和GridWorld使用的{@link GridBroadPhase}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldTickBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int ballCount;
+
+    @Param({"true", "false"})
+    public boolean sleep;
+
+    @Param({"tree", "grid"})
+    public String broadPhase;
+
+    /**
+     * 球的半径，与默认网格的球一致
+     */
+    private static final double RADIUS = 15;
+
+    /**
+     * 每个球或障碍物占据的格子边长
+     */
+    private static final double CELL = 60;
+
+    private GizmoWorld<GizmoBody> world;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Random random = new Random(42);
+        world = "grid".equals(broadPhase)
+                ? new GizmoWorld<>(AbstractWorld.EARTH_GRAVITY, new GridBroadPhase(GizmoSettings.BROAD_PHASE_CELL_SIZE))
+                : new GizmoWorld<>(AbstractWorld.EARTH_GRAVITY, new DynamicAABBTree());
+        world.setSleepEnabled(sleep);
+
+        int columns = (int) Math.ceil(Math.sqrt(ballCount * 2.0));
+        int rows = (ballCount * 2 + columns - 1) / columns;
+        double width = columns * CELL;
+        double height = rows * CELL;
+        createBoundary(width, height);
+
+        int balls = 0;
+        int obstacles = 0;
+        for (int i = 0; i < columns * rows; i++) {
+            double x = (i % columns + 0.5) * CELL;
+            double y = (i / columns + 0.5) * CELL;
+            // 球和障碍物交错排列，每行错开一格
+            boolean ball = ((i % columns) + (i / columns)) % 2 == 0;
+            if (ball && balls < ballCount) {
+                double jitter = CELL / 2 - RADIUS;
+                GizmoBody body = new GizmoBody(new Ball(RADIUS, new Transform(1, 0,
+                        x + (random.nextDouble() * 2 - 1) * jitter,
+                        y + (random.nextDouble() * 2 - 1) * jitter)), GizmoType.BALL);
+                body.setMass(body.getShape().createMass(1));
+                body.setRestitution(0.95);
+                body.setFriction(0.4);
+                body.setRestitutionVelocity(10);
+                body.getLinearVelocity().x = random.nextDouble() * 100 - 50;
+                body.getLinearVelocity().y = random.nextDouble() * 100 - 50;
+                world.addBody(body);
+                balls++;
+            } else if (!ball) {
+                createObstacle(obstacles++ % 3, x, y);
+            }
+        }
+    }
+
+    private void createObstacle(int kind, double x, double y) {
+        double half = RADIUS;
+        Transform transform = new Transform(1, 0, x, y);
+        AbstractShape shape;
+        GizmoType type;
+        switch (kind) {
+            case 0:
+                shape = new ObstacleRectangle(half, half, transform);
+                type = GizmoType.RECTANGLE;
+                break;
+            case 1:
+                shape = new ObstacleCircle(half, transform);
+                type = GizmoType.CIRCLE;
+                break;
+            default:
+                shape = new ObstacleTriangle(new Vector2[]{
+                        new Vector2(-half, -half), new Vector2(half, -half), new Vector2(-half, half)}, transform);
+                type = GizmoType.TRIANGLE;
+                break;
+        }
+        GizmoBody body = new GizmoBody(shape, type);
+        body.setMass(new Mass(new Vector2(), 0.0, 0.0));
+        body.setRestitution(0.95);
+        body.setFriction(0.5);
+        body.setRestitutionVelocity(10);
+        world.addBody(body);
+    }
+
+    /**
+     * 与GridWorld的边界一致，四周各一个矩形
+     */
+    private void createBoundary(double width, double height) {
+        addBoundary(width / 2 + CELL, height / 2, width / 2, -height / 2);
+        addBoundary(width / 2 + CELL, height / 2, width / 2, height + height / 2);
+        addBoundary(width / 2, height / 2, -width / 2, height / 2);
+        addBoundary(width / 2, height / 2, width + width / 2, height / 2);
+    }
+
+    private void addBoundary(double halfWidth, double halfHeight, double x, double y) {
+        Rectangle rectangle = new Rectangle(halfWidth, halfHeight, new Transform(1, 0, x, y));
+        GizmoBody border = new GizmoBody(rectangle, GizmoType.BOUNDARY);
+        border.setMass(new Mass(new Vector2(), 0.0, 0.0));
+        border.setRestitution(0.95);
+        border.setFriction(0.5);
+        world.addBody(border);
+    }
+
+    @Benchmark
+    public GizmoWorld<GizmoBody> tick() {
+        world.tick();
+        return world;
+    }
+}
@@ -0,0 +1,179 @@
+package gizmoball.engine;
+
+import gizmoball.engine.collision.broadphase.BroadPhase;
+import gizmoball.engine.collision.broadphase.DynamicAABBTree;
+import gizmoball.engine.collision.contact.ConstraintSolver;
+import gizmoball.engine.collision.contact.SequentialImpulses;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.collision.detector.CollisionDetector;
+import gizmoball.engine.frame.FrameSnapshot;
+import gizmoball.engine.frame.TripleBuffer;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 对整个弹球游戏物体所处世界的抽象
+ */
+public abstract class AbstractWorld<T extends PhysicsBody> {
+
+    /**
+     * 地球重力
+     */
+    public static final Vector2 EARTH_GRAVITY = new Vector2(0, -9.8);
+
+    protected Vector2 gravity;
+
+    protected final List<T> bodies;
+
+    protected final CollisionDetector collisionDetector;
+
+    /**
+     * 接触约束求解器，默认为{@link SequentialImpulses}
+     */
+    protected ConstraintSolver solver;
+
+    /**
+     * 运行时设置，注入当前的求解器
+     */
+    protected final WorldSettings settings;
+
+    /**
+     * 按tick耗时调整{@link #settings}，为null时不调整
+     */
+    protected QualityController qualityController;
+
+    protected final BroadPhase broadPhase;
+
+    /**
+     * 渲染快照的三缓冲，模拟线程写入，渲染线程读取
+     */
+    protected final TripleBuffer<FrameSnapshot> frames =
+            new TripleBuffer<>(new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+
+    /**
+     * 最近一次发布的快照的副本，只由模拟线程读写，作为下一个快照的上一个快照
+     */
+    private final FrameSnapshot lastFrame = new FrameSnapshot();
+
+    /**
+     * 已发布的快照数
+     */
+    protected long frameCount;
+
+    /**
+     * 各阶段的性能统计，未启用{@link TickMetrics#ENABLED}时为null
+     */
+    protected final TickMetrics metrics;
+
+    public AbstractWorld(Vector2 gravity) {
+        this(gravity, new DynamicAABBTree());
+    }
+
+    public AbstractWorld(Vector2 gravity, BroadPhase broadPhase) {
+        this.gravity = gravity;
+        this.bodies = new ArrayList<>();
+
+        this.collisionDetector = new BasicCollisionDetector();
+        this.settings = new WorldSettings();
+        this.solver = new SequentialImpulses();
+        this.solver.setSettings(this.settings);
+        this.broadPhase = broadPhase;
+        this.metrics = TickMetrics.ENABLED ? new TickMetrics() : null;
+    }
+
+    public void addBody(T body) {
+        this.bodies.add(body);
+        this.broadPhase.add(body);
+    }
+
+    public void removeBody(T body) {
+        this.bodies.remove(body);
+        this.broadPhase.remove(body);
+    }
+
+    public void removeAllBodies() {
+        bodies.clear();
+        broadPhase.clear();
+    }
+
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    public ConstraintSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * 设置接触约束求解器，如{@code world.setSolver(new SoftStepSolver())}，在两个tick之间调用。求解器改用本世界的运行时设置
+     *
+     * @param solver 接触约束求解器
+     */
+    public void setSolver(ConstraintSolver solver) {
+        this.solver = solver;
+        solver.setSettings(this.settings);
+    }
+
+    public WorldSettings getSettings() {
+        return settings;
+    }
+
+    public QualityController getQualityController() {
+        return qualityController;
+    }
+
+    /**
+     * 设置自适应质量控制，如{@code world.setQualityController(new QualityController(world.getSettings()))}
+     *
+     * @param qualityController 自适应质量控制，为null时不调整
+     */
+    public void setQualityController(QualityController qualityController) {
+        this.qualityController = qualityController;
+    }
+
+    public List<T> getBodies() {
+        return bodies;
+    }
+
+    /**
+     * <p>记录当前所有物体的状态并发布为渲染快照，应在模拟线程每个tick结束后调用</p>
+     * <p>渲染线程通过{@link #getFrames()}读取最新快照，未读取的旧快照会被直接覆盖。
+     * 快照中同时记录了上一次发布的状态，渲染线程跳过快照时仍然在相邻两次发布之间插值</p>
+     */
+    public void publishFrame() {
+        FrameSnapshot frame = frames.getWriteBuffer();
+        frame.capture(bodies, ++frameCount, System.nanoTime(), lastFrame);
+        lastFrame.copyFrom(frame);
+        frames.publish();
+    }
+
+    /**
+     * 丢弃上一次发布的状态，下一个发布的快照不与之前的快照插值，如开始新的一局时调用
+     */
+    public void resetFrames() {
+        lastFrame.clear();
+    }
+
+    /**
+     * 获取性能统计
+     *
+     * @return 未启用{@link TickMetrics#ENABLED}时为null
+     */
+    public TickMetrics getMetrics() {
+        return metrics;
+    }
+
+    public TripleBuffer<FrameSnapshot> getFrames() {
+        return frames;
+    }
+
+    /**
+     * 游戏更新以tick为单位，每个tick更新一次
+     */
+    public abstract void tick();
+
+
+}
@@ -0,0 +1,179 @@
+package gizmoball.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <p>固定步长的游戏循环</p>
+ * <p>在独立线程中以{@link System#nanoTime()}计时，经过的时间累积到累加器中，每累积一个tick的时长执行一次tick，
+ * 因此模拟时间与实际时间一致，不会因睡眠精度或毫秒取整产生漂移</p>
+ * <p>累加器以“纳秒×每秒tick数”为单位，一个tick恰好为{@code 1e9}，避免{@code 1e9 / ticksPerSecond}的取整误差</p>
+ * <p>GC停顿等造成落后时，每帧最多补执行{@link #getMaxCatchUpTicks()}个tick，超出部分直接丢弃并累计为时间债务，
+ * 防止tick耗时超过tick时长时落后越来越多</p>
+ */
+public class GameLoop {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 每个tick执行的任务
+     */
+    private final Runnable tick;
+
+    private final int ticksPerSecond;
+
+    /**
+     * 每帧最多补执行的tick数
+     */
+    private final int maxCatchUpTicks;
+
+    /**
+     * tick抛出异常时的回调，在循环线程中调用，调用前循环已经停止
+     */
+    private volatile Consumer<Throwable> errorHandler;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    /**
+     * 已执行的tick数
+     */
+    private volatile long tickCount;
+
+    /**
+     * 因落后过多而丢弃的时间，单位为纳秒×每秒tick数
+     */
+    private volatile long timeDebt;
+
+    public GameLoop(Runnable tick) {
+        this(tick, Settings.TICKS_PER_SECOND, Settings.DEFAULT_MAXIMUM_CATCH_UP_TICKS);
+    }
+
+    public GameLoop(Runnable tick, int ticksPerSecond, int maxCatchUpTicks) {
+        if (ticksPerSecond <= 0 || maxCatchUpTicks <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond and maxCatchUpTicks must be positive");
+        }
+        this.tick = tick;
+        this.ticksPerSecond = ticksPerSecond;
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    /**
+     * 启动游戏循环，立即执行第一个tick
+     */
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        this.tickCount = 0;
+        this.timeDebt = 0;
+        this.thread = new Thread(this::run, "gizmo-game-loop");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 停止游戏循环，并等待正在执行的tick结束
+     */
+    public synchronized void stop() {
+        this.running = false;
+        Thread thread = this.thread;
+        if (thread == null) {
+            return;
+        }
+        this.thread = null;
+        LockSupport.unpark(thread);
+        if (thread == Thread.currentThread()) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long tickCost = NANOS_PER_SECOND;
+        long maxAccumulator = tickCost * this.maxCatchUpTicks;
+        long last = System.nanoTime();
+        // 开始时立即执行第一个tick
+        long accumulator = tickCost;
+        while (this.running) {
+            long now = System.nanoTime();
+            accumulator += (now - last) * this.ticksPerSecond;
+            last = now;
+
+            // 落后超过每帧最多补执行的tick数，丢弃多余的整数个tick
+            if (accumulator >= maxAccumulator + tickCost) {
+                long dropped = (accumulator - maxAccumulator) / tickCost * tickCost;
+                accumulator -= dropped;
+                this.timeDebt += dropped;
+            }
+
+            while (accumulator >= tickCost && this.running) {
+                try {
+                    this.tick.run();
+                } catch (Throwable e) {
+                    this.running = false;
+                    Consumer<Throwable> errorHandler = this.errorHandler;
+                    if (errorHandler != null) {
+                        errorHandler.accept(e);
+                    }
+                    return;
+                }
+                accumulator -= tickCost;
+                this.tickCount++;
+            }
+
+            // 睡眠到下一个tick，唤醒时间不精确也不影响累加器
+            LockSupport.parkNanos(this, (tickCost - accumulator) / this.ticksPerSecond);
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    public int getTicksPerSecond() {
+        return ticksPerSecond;
+    }
+
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * 获取本次启动以来执行的tick数
+     *
+     * @return long
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * 获取本次启动以来因落后过多而丢弃的时间，模拟时间与实际时间之差不超过该值加一个tick
+     *
+     * @return 时间债务，单位ns
+     */
+    public long getTimeDebt() {
+        return timeDebt / ticksPerSecond;
+    }
+
+    /**
+     * 获取本次启动以来丢弃的tick数
+     *
+     * @return long
+     */
+    public long getDroppedTicks() {
+        return timeDebt / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,52 @@
+package gizmoball.engine;
+
+import java.util.Objects;
+
+/**
+ * <p>键值对</p>
+ * <p>与{@code javafx.util.Pair}的行为一致，使引擎层和领域层不依赖JavaFX，可以在无图形界面的环境中运行</p>
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class Pair<K, V> {
+
+    private final K key;
+
+    private final V value;
+
+    public Pair(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode() * 13 + (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof Pair) {
+            Pair<?, ?> pair = (Pair<?, ?>) o;
+            return Objects.equals(key, pair.key) && Objects.equals(value, pair.value);
+        }
+        return false;
+    }
+}
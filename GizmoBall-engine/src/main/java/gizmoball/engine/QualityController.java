@@ -0,0 +1,153 @@
+package gizmoball.engine;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>按tick耗时自适应调整求解质量</p>
+ * <p>每{@link Settings#DEFAULT_QUALITY_WINDOW}个tick统计一次平均耗时，超过预算时降低一级质量，
+ * 连续{@link Settings#DEFAULT_QUALITY_RESTORE_WINDOWS}个窗口低于预算的{@link Settings#DEFAULT_QUALITY_RESTORE_RATIO}时提高一级质量。
+ * 升级比降级慢，避免负载在阈值附近时质量反复升降</p>
+ * <p>质量等级从0到{@link #getLevels()}，在最低和最高值之间线性插值得到求解器迭代次数和子步数，
+ * 写入{@link WorldSettings}，下一个tick生效。{@link gizmoball.engine.collision.contact.SequentialImpulses}只受迭代次数影响，
+ * {@link gizmoball.engine.collision.contact.SoftStepSolver}只受子步数影响</p>
+ * <p>只在模拟线程中调用</p>
+ */
+public class QualityController {
+
+    @Getter
+    private final WorldSettings settings;
+
+    /**
+     * tick耗时预算，单位ns
+     */
+    @Getter
+    private final long budgetNanos;
+
+    private final int minIterations;
+
+    private final int maxIterations;
+
+    private final int minSubsteps;
+
+    private final int maxSubsteps;
+
+    @Getter
+    private final int levels;
+
+    /**
+     * 当前质量等级，0为最低质量，{@link #levels}为最高质量
+     */
+    @Getter
+    private int level;
+
+    /**
+     * 当前窗口的tick数和总耗时
+     */
+    private int windowTicks;
+
+    private long windowNanos;
+
+    /**
+     * 连续低于恢复阈值的窗口数
+     */
+    private int calmWindows;
+
+    /**
+     * 上一个统计窗口的平均tick耗时，单位ns，尚未统计完一个窗口时为0
+     */
+    @Getter
+    private long averageNanos;
+
+    /**
+     * 以世界当前的迭代次数和子步数为最高质量
+     *
+     * @param settings 世界的运行时设置
+     */
+    public QualityController(WorldSettings settings) {
+        this(settings,
+                (long) (TimeUnit.SECONDS.toNanos(1) * Settings.DEFAULT_TICK_FREQUENCY * Settings.DEFAULT_TICK_BUDGET_RATIO),
+                Math.min(Settings.DEFAULT_MINIMUM_SOLVER_ITERATIONS, settings.getSolverIterations()), settings.getSolverIterations(),
+                Math.min(Settings.DEFAULT_MINIMUM_SUBSTEPS, settings.getSubsteps()), settings.getSubsteps(),
+                Settings.DEFAULT_QUALITY_LEVELS);
+    }
+
+    /**
+     * @param settings      世界的运行时设置
+     * @param budgetNanos   tick耗时预算，单位ns
+     * @param minIterations 最低质量的迭代次数
+     * @param maxIterations 最高质量的迭代次数
+     * @param minSubsteps   最低质量的子步数
+     * @param maxSubsteps   最高质量的子步数
+     * @param levels        最低和最高质量之间划分的等级数
+     */
+    public QualityController(WorldSettings settings, long budgetNanos,
+                             int minIterations, int maxIterations,
+                             int minSubsteps, int maxSubsteps, int levels) {
+        if (budgetNanos <= 0 || levels <= 0) {
+            throw new IllegalArgumentException("budgetNanos and levels must be positive");
+        }
+        if (minIterations < 1 || minIterations > maxIterations || minSubsteps < 1 || minSubsteps > maxSubsteps) {
+            throw new IllegalArgumentException("invalid iteration or substep bounds");
+        }
+        this.settings = settings;
+        this.budgetNanos = budgetNanos;
+        this.minIterations = minIterations;
+        this.maxIterations = maxIterations;
+        this.minSubsteps = minSubsteps;
+        this.maxSubsteps = maxSubsteps;
+        this.levels = levels;
+        this.reset();
+    }
+
+    /**
+     * 恢复最高质量并清空统计，如开始新的一局时调用
+     */
+    public void reset() {
+        this.windowTicks = 0;
+        this.windowNanos = 0;
+        this.calmWindows = 0;
+        this.averageNanos = 0;
+        this.setLevel(this.levels);
+    }
+
+    /**
+     * 记录一个tick的耗时，窗口结束时按平均耗时调整质量
+     *
+     * @param tickNanos tick耗时，单位ns
+     */
+    public void update(long tickNanos) {
+        this.windowNanos += tickNanos;
+        if (++this.windowTicks < Settings.DEFAULT_QUALITY_WINDOW) {
+            return;
+        }
+        this.averageNanos = this.windowNanos / this.windowTicks;
+        this.windowTicks = 0;
+        this.windowNanos = 0;
+
+        if (this.averageNanos > this.budgetNanos) {
+            this.calmWindows = 0;
+            if (this.level > 0) {
+                this.setLevel(this.level - 1);
+            }
+        } else if (this.averageNanos < this.budgetNanos * Settings.DEFAULT_QUALITY_RESTORE_RATIO) {
+            if (++this.calmWindows >= Settings.DEFAULT_QUALITY_RESTORE_WINDOWS && this.level < this.levels) {
+                this.calmWindows = 0;
+                this.setLevel(this.level + 1);
+            }
+        } else {
+            this.calmWindows = 0;
+        }
+    }
+
+    private void setLevel(int level) {
+        this.level = level;
+        this.settings.setSolverIterations(interpolate(this.minIterations, this.maxIterations));
+        this.settings.setSubsteps(interpolate(this.minSubsteps, this.maxSubsteps));
+    }
+
+    private int interpolate(int min, int max) {
+        return min + (int) Math.round((max - min) * (double) this.level / this.levels);
+    }
+}
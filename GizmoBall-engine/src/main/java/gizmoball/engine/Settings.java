@@ -0,0 +1,171 @@
+package gizmoball.engine;
+
+
+public class Settings {
+
+    /**
+     * 默认角速度衰减
+     */
+    public static final double DEFAULT_ANGULAR_DAMPING = 0.01;
+
+    /**
+     * 默认每秒Tick数
+     */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /**
+     * 默认每tick时长，单位s
+     */
+    public static final double DEFAULT_TICK_FREQUENCY = 1.0 / TICKS_PER_SECOND;
+
+    /**
+     * 默认游戏循环每帧最多补执行的tick数，落后更多时丢弃多余的时间
+     */
+    public static final int DEFAULT_MAXIMUM_CATCH_UP_TICKS = 5;
+
+    /**
+     * 默认每tick最大平移距离
+     */
+    public static final double DEFAULT_MAXIMUM_TRANSLATION = 30.0;
+
+    /**
+     * 默认每tick最大旋转角度
+     */
+    public static final double DEFAULT_MAXIMUM_ROTATION = 0.5 * Math.PI;
+
+    /**
+     * 默认求解器迭代次数
+     */
+    public static final int DEFAULT_SOLVER_ITERATIONS = 25;
+
+    /**
+     * 默认速度求解收敛容差，一次迭代中冲量引起的最大相对速度变化小于该值时提前结束速度求解
+     */
+    public static final double DEFAULT_VELOCITY_TOLERANCE = 0.01;
+
+    /**
+     * 默认位置求解收敛容差，最大穿透深度小于该值时提前结束位置求解
+     */
+    public static final double DEFAULT_POSITION_TOLERANCE = 0.15;
+
+    /**
+     * 默认线性容差，用于防止过冲
+     */
+    public static final double DEFAULT_LINEAR_TOLERANCE = 0.05;
+
+    /**
+     * 最大线性位置校正，用于防止过冲
+     */
+    public static final double DEFAULT_MAXIMUM_LINEAR_CORRECTION = 1;
+
+    /**
+     * 默认比例因子，用于防止过冲
+     */
+    public static final double DEFAULT_BAUMGARTE = 1;
+
+    /**
+     * 软约束求解器每个tick的默认子步数
+     */
+    public static final int DEFAULT_SUBSTEPS = 4;
+
+    /**
+     * 软约束求解器接触约束的默认刚度，单位Hz，不超过子步频率的1/4
+     */
+    public static final double DEFAULT_CONTACT_HERTZ = 60;
+
+    /**
+     * 软约束求解器接触约束的默认阻尼比
+     */
+    public static final double DEFAULT_CONTACT_DAMPING_RATIO = 10;
+
+    /**
+     * 软约束求解器消除穿透的最大速度，与每tick的最大线性位置校正一致
+     */
+    public static final double DEFAULT_CONTACT_PUSH_VELOCITY = DEFAULT_MAXIMUM_LINEAR_CORRECTION * TICKS_PER_SECOND;
+
+    /**
+     * 自适应质量控制的tick耗时预算，占tick时长的比例，其余时间留给渲染线程和GC
+     */
+    public static final double DEFAULT_TICK_BUDGET_RATIO = 0.5;
+
+    /**
+     * 自适应质量控制降低质量时求解器的最少迭代次数
+     */
+    public static final int DEFAULT_MINIMUM_SOLVER_ITERATIONS = 5;
+
+    /**
+     * 自适应质量控制降低质量时的最少子步数
+     */
+    public static final int DEFAULT_MINIMUM_SUBSTEPS = 1;
+
+    /**
+     * 自适应质量控制在最低和最高质量之间划分的等级数
+     */
+    public static final int DEFAULT_QUALITY_LEVELS = 4;
+
+    /**
+     * 自适应质量控制统计平均tick耗时的窗口，单位tick
+     */
+    public static final int DEFAULT_QUALITY_WINDOW = 30;
+
+    /**
+     * 自适应质量控制连续多少个窗口的平均耗时低于恢复阈值时提高一级质量
+     */
+    public static final int DEFAULT_QUALITY_RESTORE_WINDOWS = 4;
+
+    /**
+     * 自适应质量控制的恢复阈值，占tick耗时预算的比例，留出余量避免质量反复升降
+     */
+    public static final double DEFAULT_QUALITY_RESTORE_RATIO = 0.6;
+
+    /**
+     * 默认AABB扩展距离，物体移动不超过该距离时BroadPhase无需更新
+     */
+    public static final double DEFAULT_AABB_EXPANSION = 5;
+
+    /**
+     * 默认热启动距离，相邻两个tick的接触点距离小于该值时沿用上一tick的累积冲量
+     */
+    public static final double DEFAULT_WARM_START_DISTANCE = 1;
+
+    /**
+     * 连续碰撞检测的距离容差，圆形与物体的距离小于该值时视为接触
+     */
+    public static final double DEFAULT_TOI_TOLERANCE = 0.1;
+
+    /**
+     * 连续碰撞检测回退后保留的穿透深度，使下一tick的离散碰撞检测能够产生接触
+     */
+    public static final double DEFAULT_TOI_PENETRATION = 1;
+
+    /**
+     * GJK最大迭代次数
+     */
+    public static final int DEFAULT_GJK_MAXIMUM_ITERATIONS = 30;
+
+    /**
+     * EPA最大迭代次数
+     */
+    public static final int DEFAULT_EPA_MAXIMUM_ITERATIONS = 100;
+
+    /**
+     * EPA收敛容差，新的支撑点与最近边的距离之差小于该值时结束扩展
+     */
+    public static final double DEFAULT_EPA_TOLERANCE = 1e-6;
+
+    /**
+     * 默认休眠线速度阈值，单位与坐标一致
+     */
+    public static final double DEFAULT_SLEEP_LINEAR_VELOCITY = 1;
+
+    /**
+     * 默认休眠角速度阈值，单位rad/s
+     */
+    public static final double DEFAULT_SLEEP_ANGULAR_VELOCITY = Math.toRadians(2);
+
+    /**
+     * 默认休眠时间，速度持续低于阈值超过该时间的物体进入休眠，单位s
+     */
+    public static final double DEFAULT_SLEEP_TIME = 0.5;
+
+}
@@ -0,0 +1,286 @@
+package gizmoball.engine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>按阶段记录每个tick的耗时和数量（候选碰撞对数、流形数、约束数、迭代次数等）</p>
+ * <p>最近{@link #getCapacity()}个tick的数据保存在环形缓冲中，可以求各阶段的分位数或导出为CSV</p>
+ * <p>只有以{@code -Dgizmoball.metrics=true}启动时{@link #ENABLED}才为true，埋点代码均以
+ * {@code if (TickMetrics.ENABLED)}包裹，未启用时该分支在JIT编译时被消除，几乎没有开销</p>
+ * <p>除阶段外还可以注册量规（如当前的求解质量等级），量规只记录每个tick结束时的值，不计耗时</p>
+ * <p>阶段和量规应在第一个tick之前注册。由一个线程写入，其他线程可以同时读取已完成的tick，读取到的数据不保证是同一时刻的快照</p>
+ */
+public class TickMetrics {
+
+    /**
+     * 是否启用性能统计
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("gizmoball.metrics");
+
+    /**
+     * 默认保存的tick数，按每秒60个tick为10秒
+     */
+    public static final int DEFAULT_CAPACITY = 600;
+
+    private final int capacity;
+
+    private final List<String> phaseNames = new ArrayList<>();
+
+    /**
+     * 各阶段每个tick的耗时，按[阶段][槽位]存放
+     */
+    private long[][] nanos = new long[0][];
+
+    /**
+     * 各阶段每个tick的数量，按[阶段][槽位]存放
+     */
+    private int[][] counts = new int[0][];
+
+    private final List<String> gaugeNames = new ArrayList<>();
+
+    /**
+     * 各量规每个tick的值，按[量规][槽位]存放
+     */
+    private long[][] gauges = new long[0][];
+
+    /**
+     * 已开始的tick数，当前tick位于槽位(tickCount - 1) % capacity
+     */
+    private volatile long tickCount;
+
+    /**
+     * 求分位数用的临时数组
+     */
+    private long[] scratch = new long[0];
+
+    public TickMetrics() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TickMetrics(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * 注册一个阶段，同名阶段只注册一次
+     *
+     * @param name 阶段名
+     * @return 阶段下标
+     */
+    public synchronized int registerPhase(String name) {
+        int index = this.phaseNames.indexOf(name);
+        if (index >= 0) {
+            return index;
+        }
+        index = this.phaseNames.size();
+        this.nanos = Arrays.copyOf(this.nanos, index + 1);
+        this.counts = Arrays.copyOf(this.counts, index + 1);
+        this.nanos[index] = new long[this.capacity];
+        this.counts[index] = new int[this.capacity];
+        this.phaseNames.add(name);
+        return index;
+    }
+
+    /**
+     * 注册一个量规，同名量规只注册一次
+     *
+     * @param name 量规名
+     * @return 量规下标
+     */
+    public synchronized int registerGauge(String name) {
+        int index = this.gaugeNames.indexOf(name);
+        if (index >= 0) {
+            return index;
+        }
+        index = this.gaugeNames.size();
+        this.gauges = Arrays.copyOf(this.gauges, index + 1);
+        this.gauges[index] = new long[this.capacity];
+        this.gaugeNames.add(name);
+        return index;
+    }
+
+    /**
+     * 开始一个新的tick，覆盖最旧的tick，量规沿用上一个tick的值
+     */
+    public void beginTick() {
+        int slot = (int) (this.tickCount % this.capacity);
+        long[][] nanos = this.nanos;
+        int[][] counts = this.counts;
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i][slot] = 0;
+            counts[i][slot] = 0;
+        }
+        if (this.tickCount > 0) {
+            int previous = (int) ((this.tickCount - 1) % this.capacity);
+            for (long[] gauge : this.gauges) {
+                gauge[slot] = gauge[previous];
+            }
+        }
+        this.tickCount++;
+    }
+
+    /**
+     * 设置当前tick中某量规的值
+     *
+     * @param gauge 量规下标
+     * @param value 值
+     */
+    public void set(int gauge, long value) {
+        long tickCount = this.tickCount;
+        if (tickCount == 0) {
+            return;
+        }
+        this.gauges[gauge][(int) ((tickCount - 1) % this.capacity)] = value;
+    }
+
+    /**
+     * 获取某量规在最近完成的tick中的值
+     *
+     * @param gauge 量规下标
+     * @return 值，没有已完成的tick时返回0
+     */
+    public long getGauge(int gauge) {
+        long tickCount = this.tickCount;
+        if (tickCount < 2) {
+            return 0;
+        }
+        return this.gauges[gauge][(int) ((tickCount - 2) % this.capacity)];
+    }
+
+    /**
+     * 记录当前tick中某阶段从start到现在的耗时，同一阶段在一个tick内多次记录时累加
+     *
+     * @param phase 阶段下标
+     * @param start 阶段开始时的{@link System#nanoTime()}
+     * @param count 阶段的数量
+     * @return 现在的{@link System#nanoTime()}，可以作为下一阶段的开始时间
+     */
+    public long record(int phase, long start, int count) {
+        long now = System.nanoTime();
+        long tickCount = this.tickCount;
+        if (tickCount == 0) {
+            return now;
+        }
+        int slot = (int) ((tickCount - 1) % this.capacity);
+        this.nanos[phase][slot] += now - start;
+        this.counts[phase][slot] += count;
+        return now;
+    }
+
+    /**
+     * 获取已完成的tick数（不含正在进行的tick），最多为{@link #getCapacity()} - 1
+     *
+     * @return int
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(this.tickCount - 1, this.capacity - 1));
+    }
+
+    /**
+     * 求某阶段在已完成的tick中耗时的分位数
+     *
+     * @param phase      阶段下标
+     * @param percentile 分位，0到1之间
+     * @return 耗时，单位ns，没有数据时返回0
+     */
+    public synchronized long getPercentileNanos(int phase, double percentile) {
+        return this.percentile(this.nanos[phase], null, percentile);
+    }
+
+    /**
+     * 求某阶段在已完成的tick中数量的分位数
+     *
+     * @param phase      阶段下标
+     * @param percentile 分位，0到1之间
+     * @return 数量，没有数据时返回0
+     */
+    public synchronized long getPercentileCount(int phase, double percentile) {
+        return this.percentile(null, this.counts[phase], percentile);
+    }
+
+    private long percentile(long[] longs, int[] ints, double percentile) {
+        long tickCount = this.tickCount;
+        int size = (int) Math.max(0, Math.min(tickCount - 1, this.capacity - 1));
+        if (size == 0) {
+            return 0;
+        }
+        if (this.scratch.length < size) {
+            this.scratch = new long[this.capacity];
+        }
+        // 从最近完成的tick向前读取
+        for (int i = 0; i < size; i++) {
+            int slot = (int) ((tickCount - 2 - i) % this.capacity);
+            this.scratch[i] = longs != null ? longs[slot] : ints[slot];
+        }
+        Arrays.sort(this.scratch, 0, size);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return this.scratch[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    /**
+     * <p>将已完成的tick按从旧到新导出为CSV</p>
+     * <p>第一列为tick序号，之后每个阶段两列，分别为耗时（ns）和数量，最后每个量规一列</p>
+     *
+     * @param out 输出
+     * @throws IOException 写入失败
+     */
+    public synchronized void writeCsv(Appendable out) throws IOException {
+        long tickCount = this.tickCount;
+        int size = (int) Math.max(0, Math.min(tickCount - 1, this.capacity - 1));
+        out.append("tick");
+        for (String name : this.phaseNames) {
+            out.append(',').append(name).append("_ns,").append(name).append("_count");
+        }
+        for (String name : this.gaugeNames) {
+            out.append(',').append(name);
+        }
+        out.append('\n');
+        for (long tick = tickCount - 1 - size; tick < tickCount - 1; tick++) {
+            int slot = (int) (tick % this.capacity);
+            out.append(Long.toString(tick));
+            for (int phase = 0; phase < this.phaseNames.size(); phase++) {
+                out.append(',').append(Long.toString(this.nanos[phase][slot]))
+                        .append(',').append(Integer.toString(this.counts[phase][slot]));
+            }
+            for (long[] gauge : this.gauges) {
+                out.append(',').append(Long.toString(gauge[slot]));
+            }
+            out.append('\n');
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getPhaseCount() {
+        return phaseNames.size();
+    }
+
+    public String getPhaseName(int phase) {
+        return phaseNames.get(phase);
+    }
+
+    public int getGaugeCount() {
+        return gaugeNames.size();
+    }
+
+    public String getGaugeName(int gauge) {
+        return gaugeNames.get(gauge);
+    }
+
+    /**
+     * 获取已开始的tick数
+     *
+     * @return long
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+}
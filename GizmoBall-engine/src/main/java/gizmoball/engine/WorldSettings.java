@@ -0,0 +1,49 @@
+package gizmoball.engine;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>每个世界独立的运行时设置，初始值取自{@link Settings}</p>
+ * <p>由世界注入其接触约束求解器，可以在两个tick之间修改，如由{@link QualityController}按tick耗时调整</p>
+ * <p>tick时长、最大平移距离等与游戏循环和连续碰撞检测相关的设置仍以{@link Settings}为准</p>
+ */
+@Getter
+public class WorldSettings {
+
+    /**
+     * 求解器速度和位置各自的最大迭代次数
+     */
+    private int solverIterations = Settings.DEFAULT_SOLVER_ITERATIONS;
+
+    /**
+     * 速度求解收敛容差
+     */
+    @Setter
+    private double velocityTolerance = Settings.DEFAULT_VELOCITY_TOLERANCE;
+
+    /**
+     * 位置求解收敛容差
+     */
+    @Setter
+    private double positionTolerance = Settings.DEFAULT_POSITION_TOLERANCE;
+
+    /**
+     * 子步求解器每个tick的子步数
+     */
+    private int substeps = Settings.DEFAULT_SUBSTEPS;
+
+    public void setSolverIterations(int solverIterations) {
+        if (solverIterations < 1) {
+            throw new IllegalArgumentException("solverIterations must be at least 1");
+        }
+        this.solverIterations = solverIterations;
+    }
+
+    public void setSubsteps(int substeps) {
+        if (substeps < 1) {
+            throw new IllegalArgumentException("substeps must be at least 1");
+        }
+        this.substeps = substeps;
+    }
+}
@@ -0,0 +1,66 @@
+package gizmoball.engine.collision.broadphase;
+
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.physics.MassType;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.List;
+
+/**
+ * <p>BroadPhase接口，用于在NarrowPhase之前快速筛选出可能发生碰撞的物体对</p>
+ * <p>质量类型为{@link MassType#NORMAL}的物体视为动态物体，其余视为静态物体</p>
+ */
+public interface BroadPhase {
+
+    /**
+     * 添加物体
+     *
+     * @param body 物体
+     */
+    void add(PhysicsBody body);
+
+    /**
+     * 移除物体
+     *
+     * @param body 物体
+     */
+    void remove(PhysicsBody body);
+
+    /**
+     * 物体移动后更新物体的AABB
+     *
+     * @param body 物体
+     */
+    void update(PhysicsBody body);
+
+    /**
+     * 移除所有物体
+     */
+    void clear();
+
+    /**
+     * 查询AABB与给定AABB可能重叠的物体，结果追加到result中
+     *
+     * @param aabb   查询范围
+     * @param result 查询结果
+     */
+    void query(AABB aabb, List<PhysicsBody> result);
+
+    /**
+     * <p>检测所有可能发生碰撞的动态物体和静态物体对，结果追加到pairs中，动态物体在前</p>
+     * <p>动态物体之间的碰撞对由上层自行处理，休眠的动态物体不参与检测</p>
+     *
+     * @param pairs 碰撞对缓冲区
+     */
+    void detect(PairBuffer pairs);
+
+    /**
+     * 判断物体是否为动态物体
+     *
+     * @param body 物体
+     * @return boolean
+     */
+    static boolean isDynamic(PhysicsBody body) {
+        return body.getMass().getType() == MassType.NORMAL;
+    }
+}
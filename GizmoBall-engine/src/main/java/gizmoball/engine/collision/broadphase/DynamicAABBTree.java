@@ -0,0 +1,357 @@
+package gizmoball.engine.collision.broadphase;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>基于动态AABB树（BVH）的{@link BroadPhase}</p>
+ * <p>叶子节点保存扩展后的AABB，物体移动后只要仍在扩展AABB内就无需更新树</p>
+ * <p>插入时按周长代价选择兄弟节点，并通过旋转保持树的平衡，查询复杂度为O(log n)</p>
+ */
+public class DynamicAABBTree implements BroadPhase {
+
+    /**
+     * 根节点
+     */
+    private Node root;
+
+    /**
+     * 物体到叶子节点的映射
+     */
+    private final Map<PhysicsBody, Node> leaves;
+
+    /**
+     * 动态物体的叶子节点，按加入顺序保存以保证检测结果顺序稳定
+     */
+    private final List<Node> dynamicLeaves;
+
+    /**
+     * AABB扩展距离
+     */
+    private final double expansion;
+
+    /**
+     * 遍历时复用的栈
+     */
+    private final Deque<Node> stack;
+
+    public DynamicAABBTree() {
+        this(Settings.DEFAULT_AABB_EXPANSION);
+    }
+
+    public DynamicAABBTree(double expansion) {
+        this.expansion = expansion;
+        this.leaves = new IdentityHashMap<>();
+        this.dynamicLeaves = new ArrayList<>();
+        this.stack = new ArrayDeque<>();
+    }
+
+    /**
+     * 树节点
+     */
+    private static final class Node {
+
+        private Node parent;
+
+        private Node left;
+
+        private Node right;
+
+        /**
+         * 叶子节点为0
+         */
+        private int height;
+
+        private AABB aabb;
+
+        /**
+         * 叶子节点对应的物体，非叶子节点为null
+         */
+        private PhysicsBody body;
+
+        private boolean isLeaf() {
+            return this.left == null;
+        }
+    }
+
+    @Override
+    public void add(PhysicsBody body) {
+        if (this.leaves.containsKey(body)) {
+            return;
+        }
+        Node node = new Node();
+        node.body = body;
+        node.aabb = this.createFatAABB(body);
+        this.leaves.put(body, node);
+        if (BroadPhase.isDynamic(body)) {
+            this.dynamicLeaves.add(node);
+        }
+        this.insert(node);
+    }
+
+    @Override
+    public void remove(PhysicsBody body) {
+        Node node = this.leaves.remove(body);
+        if (node == null) {
+            return;
+        }
+        if (BroadPhase.isDynamic(body)) {
+            this.dynamicLeaves.remove(node);
+        }
+        this.removeLeaf(node);
+    }
+
+    @Override
+    public void update(PhysicsBody body) {
+        Node node = this.leaves.get(body);
+        if (node == null) {
+            return;
+        }
+        // 仍在扩展AABB内，无需更新
+        if (node.aabb.contains(body.getShape().getAABB())) {
+            return;
+        }
+        this.removeLeaf(node);
+        node.aabb = this.createFatAABB(body);
+        this.insert(node);
+    }
+
+    @Override
+    public void clear() {
+        this.root = null;
+        this.leaves.clear();
+        this.dynamicLeaves.clear();
+    }
+
+    @Override
+    public void query(AABB aabb, List<PhysicsBody> result) {
+        if (this.root == null) {
+            return;
+        }
+        this.stack.clear();
+        this.stack.push(this.root);
+        while (!this.stack.isEmpty()) {
+            Node node = this.stack.pop();
+            if (!node.aabb.overlaps(aabb)) {
+                continue;
+            }
+            if (node.isLeaf()) {
+                result.add(node.body);
+            } else {
+                this.stack.push(node.right);
+                this.stack.push(node.left);
+            }
+        }
+    }
+
+    @Override
+    public void detect(PairBuffer pairs) {
+        if (this.root == null) {
+            return;
+        }
+        // 使用下标遍历，避免创建迭代器
+        for (int i = 0; i < this.dynamicLeaves.size(); i++) {
+            Node leaf = this.dynamicLeaves.get(i);
+            if (leaf.body.isAsleep()) {
+                continue;
+            }
+            this.stack.clear();
+            this.stack.push(this.root);
+            while (!this.stack.isEmpty()) {
+                Node node = this.stack.pop();
+                if (!node.aabb.overlaps(leaf.aabb)) {
+                    continue;
+                }
+                if (!node.isLeaf()) {
+                    this.stack.push(node.right);
+                    this.stack.push(node.left);
+                } else if (!BroadPhase.isDynamic(node.body)) {
+                    pairs.add(leaf.body, node.body);
+                }
+            }
+        }
+    }
+
+    private AABB createFatAABB(PhysicsBody body) {
+        AABB aabb = body.getShape().createAABB();
+        aabb.expand(this.expansion);
+        return aabb;
+    }
+
+    /**
+     * 插入叶子节点，自顶向下选择合并后周长代价最小的兄弟节点
+     *
+     * @param leaf 叶子节点
+     */
+    private void insert(Node leaf) {
+        if (this.root == null) {
+            this.root = leaf;
+            leaf.parent = null;
+            return;
+        }
+        AABB leafAABB = leaf.aabb;
+        Node sibling = this.root;
+        while (!sibling.isLeaf()) {
+            double perimeter = sibling.aabb.getPerimeter();
+            AABB union = new AABB(sibling.aabb);
+            union.union(leafAABB);
+            double unionPerimeter = union.getPerimeter();
+            // 在当前节点处新建父节点的代价
+            double cost = 2 * unionPerimeter;
+            // 继续向下的代价需要加上当前节点扩大的部分
+            double descendCost = 2 * (unionPerimeter - perimeter);
+
+            double leftCost = this.getDescendCost(sibling.left, leafAABB) + descendCost;
+            double rightCost = this.getDescendCost(sibling.right, leafAABB) + descendCost;
+            if (cost < leftCost && cost < rightCost) {
+                break;
+            }
+            sibling = leftCost < rightCost ? sibling.left : sibling.right;
+        }
+
+        Node oldParent = sibling.parent;
+        Node parent = new Node();
+        parent.parent = oldParent;
+        parent.aabb = new AABB(sibling.aabb);
+        parent.aabb.union(leafAABB);
+        parent.height = sibling.height + 1;
+        parent.left = sibling;
+        parent.right = leaf;
+        sibling.parent = parent;
+        leaf.parent = parent;
+        if (oldParent == null) {
+            this.root = parent;
+        } else if (oldParent.left == sibling) {
+            oldParent.left = parent;
+        } else {
+            oldParent.right = parent;
+        }
+
+        this.refit(parent.parent);
+    }
+
+    private double getDescendCost(Node node, AABB aabb) {
+        AABB union = new AABB(node.aabb);
+        union.union(aabb);
+        if (node.isLeaf()) {
+            return union.getPerimeter();
+        }
+        return union.getPerimeter() - node.aabb.getPerimeter();
+    }
+
+    /**
+     * 移除叶子节点，兄弟节点取代父节点的位置
+     *
+     * @param leaf 叶子节点
+     */
+    private void removeLeaf(Node leaf) {
+        if (leaf == this.root) {
+            this.root = null;
+            return;
+        }
+        Node parent = leaf.parent;
+        Node grandparent = parent.parent;
+        Node sibling = parent.left == leaf ? parent.right : parent.left;
+        leaf.parent = null;
+        sibling.parent = grandparent;
+        if (grandparent == null) {
+            this.root = sibling;
+            return;
+        }
+        if (grandparent.left == parent) {
+            grandparent.left = sibling;
+        } else {
+            grandparent.right = sibling;
+        }
+        this.refit(grandparent);
+    }
+
+    /**
+     * 自底向上平衡并更新祖先节点的AABB和高度
+     *
+     * @param node 起始节点
+     */
+    private void refit(Node node) {
+        while (node != null) {
+            node = this.balance(node);
+            node.height = 1 + Math.max(node.left.height, node.right.height);
+            node.aabb = new AABB(node.left.aabb);
+            node.aabb.union(node.right.aabb);
+            node = node.parent;
+        }
+    }
+
+    /**
+     * 左右子树高度差超过1时进行旋转，返回旋转后位于原位置的节点
+     *
+     * @param a 待平衡节点
+     * @return Node
+     */
+    private Node balance(Node a) {
+        if (a.isLeaf() || a.height < 2) {
+            return a;
+        }
+        Node b = a.left;
+        Node c = a.right;
+        int balance = c.height - b.height;
+        if (balance > 1) {
+            return this.rotate(a, c, b);
+        }
+        if (balance < -1) {
+            return this.rotate(a, b, c);
+        }
+        return a;
+    }
+
+    /**
+     * 将较高的子节点up旋转到a的位置
+     *
+     * @param a     待平衡节点
+     * @param up    较高的子节点
+     * @param other 较低的子节点
+     * @return Node
+     */
+    private Node rotate(Node a, Node up, Node other) {
+        Node f = up.left;
+        Node g = up.right;
+
+        // up替换a
+        up.parent = a.parent;
+        if (up.parent == null) {
+            this.root = up;
+        } else if (up.parent.left == a) {
+            up.parent.left = up;
+        } else {
+            up.parent.right = up;
+        }
+
+        // a成为up的子节点，up较高的子节点留在up下，较低的子节点交给a
+        Node keep = f.height > g.height ? f : g;
+        Node give = keep == f ? g : f;
+        up.left = a;
+        up.right = keep;
+        a.parent = up;
+        keep.parent = up;
+
+        a.left = other;
+        a.right = give;
+        other.parent = a;
+        give.parent = a;
+
+        a.aabb = new AABB(other.aabb);
+        a.aabb.union(give.aabb);
+        a.height = 1 + Math.max(other.height, give.height);
+        up.aabb = new AABB(a.aabb);
+        up.aabb.union(keep.aabb);
+        up.height = 1 + Math.max(a.height, keep.height);
+        return up;
+    }
+}
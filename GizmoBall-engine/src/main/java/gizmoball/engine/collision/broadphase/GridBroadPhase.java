@@ -0,0 +1,341 @@
+package gizmoball.engine.collision.broadphase;
+
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>基于均匀网格的{@link BroadPhase}</p>
+ * <p>每个静态物体按AABB登记到其覆盖的所有格子中，查询时只返回给定AABB覆盖格子中的物体，
+ * 因此单次查询的代价与格子内物体数有关，而与物体总数无关，适合静态物体密集的场景</p>
+ * <p>覆盖格子数过多的物体（如边界）不放入网格，查询时单独做AABB判断</p>
+ * <p>网格范围由静态物体决定，静态物体增删后会在下一次查询时重建网格</p>
+ */
+public class GridBroadPhase implements BroadPhase {
+
+    /**
+     * 单个物体最多覆盖的格子数，超过则视为大物体
+     */
+    private static final int MAX_CELLS_PER_BODY = 64;
+
+    /**
+     * 格子边长
+     */
+    private final double cellSize;
+
+    /**
+     * 网格左下角x坐标
+     */
+    private double originX;
+
+    /**
+     * 网格左下角y坐标
+     */
+    private double originY;
+
+    /**
+     * 列数
+     */
+    private int columns;
+
+    /**
+     * 行数
+     */
+    private int rows;
+
+    /**
+     * 每个格子中登记的物体，按cells[column * rows + row]存放
+     */
+    private List<List<Entry>> cells;
+
+    /**
+     * 不放入网格的大物体
+     */
+    private final List<Entry> largeEntries;
+
+    /**
+     * 静态物体
+     */
+    private final List<Entry> staticEntries;
+
+    /**
+     * 动态物体
+     */
+    private final List<Entry> dynamicEntries;
+
+    /**
+     * 物体到登记信息的映射
+     */
+    private final Map<PhysicsBody, Entry> entries;
+
+    /**
+     * 静态物体是否发生增删
+     */
+    private boolean dirty;
+
+    /**
+     * 查询时复用的结果列表
+     */
+    private final List<PhysicsBody> candidates;
+
+    public GridBroadPhase(double cellSize) {
+        this.cellSize = cellSize;
+        this.cells = new ArrayList<>();
+        this.largeEntries = new ArrayList<>();
+        this.staticEntries = new ArrayList<>();
+        this.dynamicEntries = new ArrayList<>();
+        this.entries = new IdentityHashMap<>();
+        this.candidates = new ArrayList<>();
+    }
+
+    /**
+     * 物体在网格中的登记信息
+     */
+    private static final class Entry {
+
+        private final PhysicsBody body;
+
+        private AABB aabb;
+
+        private boolean large;
+
+        private int minColumn;
+
+        private int minRow;
+
+        private int maxColumn;
+
+        private int maxRow;
+
+        private Entry(PhysicsBody body) {
+            this.body = body;
+        }
+    }
+
+    @Override
+    public void add(PhysicsBody body) {
+        if (this.entries.containsKey(body)) {
+            return;
+        }
+        Entry entry = new Entry(body);
+        entry.aabb = body.getShape().createAABB();
+        this.entries.put(body, entry);
+        if (BroadPhase.isDynamic(body)) {
+            this.dynamicEntries.add(entry);
+        } else {
+            this.staticEntries.add(entry);
+            this.dirty = true;
+        }
+    }
+
+    @Override
+    public void remove(PhysicsBody body) {
+        Entry entry = this.entries.remove(body);
+        if (entry == null) {
+            return;
+        }
+        if (BroadPhase.isDynamic(body)) {
+            this.dynamicEntries.remove(entry);
+        } else {
+            this.staticEntries.remove(entry);
+            this.dirty = true;
+        }
+    }
+
+    @Override
+    public void update(PhysicsBody body) {
+        Entry entry = this.entries.get(body);
+        if (entry == null) {
+            return;
+        }
+        if (BroadPhase.isDynamic(body) || this.dirty || entry.large) {
+            entry.aabb = body.getShape().createAABB();
+            return;
+        }
+        // 静态物体移动（如挡板旋转）后需要更新所在格子
+        this.removeFromCells(entry);
+        entry.aabb = body.getShape().createAABB();
+        this.insertToCells(entry);
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+        this.staticEntries.clear();
+        this.dynamicEntries.clear();
+        this.largeEntries.clear();
+        this.cells = new ArrayList<>();
+        this.columns = 0;
+        this.rows = 0;
+        this.dirty = false;
+    }
+
+    @Override
+    public void query(AABB aabb, List<PhysicsBody> result) {
+        this.queryStatic(aabb, result);
+        for (Entry entry : this.dynamicEntries) {
+            if (entry.aabb.overlaps(aabb)) {
+                result.add(entry.body);
+            }
+        }
+    }
+
+    @Override
+    public void detect(PairBuffer pairs) {
+        // 使用下标遍历，避免创建迭代器
+        for (int i = 0; i < this.dynamicEntries.size(); i++) {
+            Entry entry = this.dynamicEntries.get(i);
+            if (entry.body.isAsleep()) {
+                continue;
+            }
+            this.candidates.clear();
+            this.queryStatic(entry.aabb, this.candidates);
+            for (int j = 0; j < this.candidates.size(); j++) {
+                pairs.add(entry.body, this.candidates.get(j));
+            }
+        }
+    }
+
+    /**
+     * 只查询静态物体
+     *
+     * @param aabb   查询范围
+     * @param result 查询结果
+     */
+    private void queryStatic(AABB aabb, List<PhysicsBody> result) {
+        if (this.dirty) {
+            this.rebuild();
+        }
+        for (Entry entry : this.largeEntries) {
+            if (entry.aabb.overlaps(aabb)) {
+                result.add(entry.body);
+            }
+        }
+        if (this.columns == 0) {
+            return;
+        }
+        int minColumn = this.getColumn(aabb.minX);
+        int maxColumn = this.getColumn(aabb.maxX);
+        int minRow = this.getRow(aabb.minY);
+        int maxRow = this.getRow(aabb.maxY);
+        for (int i = minColumn; i <= maxColumn; i++) {
+            for (int j = minRow; j <= maxRow; j++) {
+                List<Entry> cell = this.cells.get(i * this.rows + j);
+                if (cell == null) continue;
+                for (Entry entry : cell) {
+                    // 跨多个格子的物体只在查询范围与物体范围相交的第一个格子中返回，避免重复
+                    if (i == Math.max(entry.minColumn, minColumn) && j == Math.max(entry.minRow, minRow)) {
+                        result.add(entry.body);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 使用当前静态物体重建网格，网格范围为所有非大物体AABB的并集
+     */
+    private void rebuild() {
+        this.dirty = false;
+        this.largeEntries.clear();
+        double minX = Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        int smallSize = 0;
+        for (Entry entry : this.staticEntries) {
+            entry.aabb = entry.body.getShape().createAABB();
+            entry.large = this.isLarge(entry.aabb);
+            if (entry.large) {
+                this.largeEntries.add(entry);
+                continue;
+            }
+            smallSize++;
+            minX = Math.min(minX, entry.aabb.minX);
+            minY = Math.min(minY, entry.aabb.minY);
+            maxX = Math.max(maxX, entry.aabb.maxX);
+            maxY = Math.max(maxY, entry.aabb.maxY);
+        }
+        if (smallSize == 0) {
+            this.columns = 0;
+            this.rows = 0;
+            this.cells = new ArrayList<>();
+            return;
+        }
+        this.originX = minX;
+        this.originY = minY;
+        this.columns = Math.max(1, (int) Math.ceil((maxX - minX) / this.cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY - minY) / this.cellSize));
+        int size = this.columns * this.rows;
+        this.cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.cells.add(null);
+        }
+        for (Entry entry : this.staticEntries) {
+            if (!entry.large) {
+                this.insertToCells(entry);
+            }
+        }
+    }
+
+    private boolean isLarge(AABB aabb) {
+        double columns = Math.ceil((aabb.maxX - aabb.minX) / this.cellSize);
+        double rows = Math.ceil((aabb.maxY - aabb.minY) / this.cellSize);
+        return columns * rows > MAX_CELLS_PER_BODY;
+    }
+
+    private void insertToCells(Entry entry) {
+        entry.minColumn = this.getColumn(entry.aabb.minX);
+        entry.maxColumn = this.getColumn(entry.aabb.maxX);
+        entry.minRow = this.getRow(entry.aabb.minY);
+        entry.maxRow = this.getRow(entry.aabb.maxY);
+        for (int i = entry.minColumn; i <= entry.maxColumn; i++) {
+            for (int j = entry.minRow; j <= entry.maxRow; j++) {
+                int index = i * this.rows + j;
+                List<Entry> cell = this.cells.get(index);
+                if (cell == null) {
+                    cell = new ArrayList<>(2);
+                    this.cells.set(index, cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry entry) {
+        for (int i = entry.minColumn; i <= entry.maxColumn; i++) {
+            for (int j = entry.minRow; j <= entry.maxRow; j++) {
+                List<Entry> cell = this.cells.get(i * this.rows + j);
+                if (cell != null) {
+                    cell.remove(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取x坐标对应的列下标，超出网格范围的坐标会被夹逼到边缘格子
+     *
+     * @param x x坐标
+     * @return int
+     */
+    private int getColumn(double x) {
+        int column = (int) Math.floor((x - this.originX) / this.cellSize);
+        return Math.max(0, Math.min(column, this.columns - 1));
+    }
+
+    /**
+     * 获取y坐标对应的行下标，超出网格范围的坐标会被夹逼到边缘格子
+     *
+     * @param y y坐标
+     * @return int
+     */
+    private int getRow(double y) {
+        int row = (int) Math.floor((y - this.originY) / this.cellSize);
+        return Math.max(0, Math.min(row, this.rows - 1));
+    }
+}
@@ -0,0 +1,81 @@
+package gizmoball.engine.collision.broadphase;
+
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.Arrays;
+
+/**
+ * <p>BroadPhase候选碰撞对的缓冲区，按下标保存物体对</p>
+ * <p>物体对保存在两个并行数组中，容量不足时按两倍扩容，容量稳定后写入候选碰撞对不再创建对象</p>
+ * <p>不是线程安全的，写入完成后可以被多个线程同时读取</p>
+ */
+public class PairBuffer {
+
+    /**
+     * 默认容量
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private PhysicsBody[] bodies1;
+
+    private PhysicsBody[] bodies2;
+
+    private int size;
+
+    public PairBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PairBuffer(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.bodies1 = new PhysicsBody[capacity];
+        this.bodies2 = new PhysicsBody[capacity];
+    }
+
+    /**
+     * 清空缓冲区
+     */
+    public void clear() {
+        // 释放物体引用，避免移除的物体无法被回收
+        Arrays.fill(this.bodies1, 0, this.size, null);
+        Arrays.fill(this.bodies2, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * 追加一个物体对
+     *
+     * @param body1 物体1
+     * @param body2 物体2
+     */
+    public void add(PhysicsBody body1, PhysicsBody body2) {
+        if (this.size == this.bodies1.length) {
+            int capacity = this.bodies1.length * 2;
+            this.bodies1 = Arrays.copyOf(this.bodies1, capacity);
+            this.bodies2 = Arrays.copyOf(this.bodies2, capacity);
+        }
+        this.bodies1[this.size] = body1;
+        this.bodies2[this.size] = body2;
+        this.size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public PhysicsBody getBody1(int index) {
+        return bodies1[index];
+    }
+
+    public PhysicsBody getBody2(int index) {
+        return bodies2[index];
+    }
+
+    public int getCapacity() {
+        return bodies1.length;
+    }
+}
@@ -0,0 +1,178 @@
+package gizmoball.engine.collision.broadphase;
+
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.List;
+
+/**
+ * <p>用于动态物体之间的均匀哈希网格</p>
+ * <p>格子边长取所有物体AABB的最大边长（对球来说即最大直径），因此两个AABB重叠的物体中心所在格子必然相邻，
+ * 每个物体只需按中心放入一个格子，并检查周围3x3个格子即可</p>
+ * <p>每次检测都会重建网格，网格使用数组实现的链表，重建网格和写入物体对时都不产生额外对象</p>
+ * <p>两个物体都处于休眠状态的物体对不会被检测</p>
+ */
+public class SpatialHashGrid {
+
+    /**
+     * 哈希表中每个桶的链表头，-1表示空
+     */
+    private int[] head = new int[0];
+
+    /**
+     * 物体在桶链表中的下一个物体，-1表示结尾
+     */
+    private int[] next = new int[0];
+
+    /**
+     * 物体中心所在格子的x下标
+     */
+    private int[] cellX = new int[0];
+
+    /**
+     * 物体中心所在格子的y下标
+     */
+    private int[] cellY = new int[0];
+
+    /**
+     * 物体的AABB，按minX, minY, maxX, maxY依次存放
+     */
+    private double[] bounds = new double[0];
+
+    /**
+     * 物体是否休眠
+     */
+    private boolean[] asleep = new boolean[0];
+
+    /**
+     * 检测时已访问的桶，用于避免不同格子哈希到同一个桶时重复检测
+     */
+    private final int[] visited = new int[9];
+
+    /**
+     * 检测物体之间所有AABB重叠的物体对，结果追加到pairs中
+     *
+     * @param bodies 物体列表
+     * @param pairs  物体对缓冲区
+     */
+    public void detect(List<PhysicsBody> bodies, PairBuffer pairs) {
+        int size = bodies.size();
+        if (size < 2) {
+            return;
+        }
+        if (this.rebuild(bodies) == 0) {
+            return;
+        }
+        int mask = this.head.length - 1;
+        for (int i = 0; i < size; i++) {
+            int visitedSize = 0;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int bucket = hash(this.cellX[i] + dx, this.cellY[i] + dy) & mask;
+                    if (contains(this.visited, visitedSize, bucket)) {
+                        continue;
+                    }
+                    this.visited[visitedSize++] = bucket;
+                    for (int j = this.head[bucket]; j != -1; j = this.next[j]) {
+                        // 只保留i < j的物体对，避免重复
+                        if (j > i && !(this.asleep[i] && this.asleep[j]) && this.overlaps(i, j)) {
+                            pairs.add(bodies.get(i), bodies.get(j));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 重建网格
+     *
+     * @param bodies 物体列表
+     * @return 未休眠的物体数，为0时不重建网格
+     */
+    private int rebuild(List<PhysicsBody> bodies) {
+        int size = bodies.size();
+        this.ensureCapacity(size);
+        int awake = 0;
+        for (int i = 0; i < size; i++) {
+            this.asleep[i] = bodies.get(i).isAsleep();
+            if (!this.asleep[i]) {
+                awake++;
+            }
+        }
+        if (awake == 0) {
+            return 0;
+        }
+        double cellSize = 0;
+        for (int i = 0; i < size; i++) {
+            AABB aabb = bodies.get(i).getShape().getAABB();
+            int offset = i * 4;
+            this.bounds[offset] = aabb.minX;
+            this.bounds[offset + 1] = aabb.minY;
+            this.bounds[offset + 2] = aabb.maxX;
+            this.bounds[offset + 3] = aabb.maxY;
+            cellSize = Math.max(cellSize, Math.max(aabb.maxX - aabb.minX, aabb.maxY - aabb.minY));
+        }
+        if (cellSize <= 0) {
+            cellSize = 1;
+        }
+        for (int i = 0; i < this.head.length; i++) {
+            this.head[i] = -1;
+        }
+        int mask = this.head.length - 1;
+        for (int i = 0; i < size; i++) {
+            int offset = i * 4;
+            double centerX = (this.bounds[offset] + this.bounds[offset + 2]) / 2;
+            double centerY = (this.bounds[offset + 1] + this.bounds[offset + 3]) / 2;
+            this.cellX[i] = (int) Math.floor(centerX / cellSize);
+            this.cellY[i] = (int) Math.floor(centerY / cellSize);
+            int bucket = hash(this.cellX[i], this.cellY[i]) & mask;
+            this.next[i] = this.head[bucket];
+            this.head[bucket] = i;
+        }
+        return awake;
+    }
+
+    /**
+     * 保证数组容量足够，哈希表大小为不小于物体数两倍的2的幂
+     *
+     * @param size 物体数
+     */
+    private void ensureCapacity(int size) {
+        if (this.next.length < size) {
+            int capacity = Math.max(size, this.next.length * 2);
+            this.next = new int[capacity];
+            this.cellX = new int[capacity];
+            this.cellY = new int[capacity];
+            this.bounds = new double[capacity * 4];
+            this.asleep = new boolean[capacity];
+        }
+        int tableSize = Integer.highestOneBit(Math.max(size * 2 - 1, 1)) << 1;
+        if (this.head.length < tableSize) {
+            this.head = new int[tableSize];
+        }
+    }
+
+    private boolean overlaps(int i, int j) {
+        int a = i * 4;
+        int b = j * 4;
+        return this.bounds[a] <= this.bounds[b + 2] &&
+                this.bounds[a + 2] >= this.bounds[b] &&
+                this.bounds[a + 1] <= this.bounds[b + 3] &&
+                this.bounds[a + 3] >= this.bounds[b + 1];
+    }
+
+    private static int hash(int x, int y) {
+        int h = x * 73856093 ^ y * 19349663;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contains(int[] array, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
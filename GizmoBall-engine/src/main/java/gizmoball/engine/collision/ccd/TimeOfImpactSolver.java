@@ -0,0 +1,217 @@
+package gizmoball.engine.collision.ccd;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.geometry.shape.Circle;
+import gizmoball.engine.geometry.shape.Polygon;
+import gizmoball.engine.geometry.shape.QuarterCircle;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.List;
+
+/**
+ * <p>圆形物体的连续碰撞检测（CCD）</p>
+ * <p>使用保守前进法求圆形沿一个tick的位移与静态物体的首次接触时间（TOI）：
+ * 每一步按当前圆心到物体的距离前进，由于物体静止，前进该距离必不会穿过物体</p>
+ * <p>只有一个tick内位移超过半径的圆形才可能穿过物体，位移较小时的碰撞交由离散碰撞检测处理</p>
+ * <p>目标物体按其本tick结束时的位置处理，不考虑目标物体本身的运动</p>
+ */
+public class TimeOfImpactSolver {
+
+    /**
+     * 保守前进最大迭代次数
+     */
+    private static final int MAX_ITERATIONS = 20;
+
+    /**
+     * 判断圆形是否需要进行连续碰撞检测
+     *
+     * @param circle 圆形
+     * @param startX tick开始时的圆心x坐标
+     * @param startY tick开始时的圆心y坐标
+     * @return boolean
+     */
+    public boolean isFast(Circle circle, double startX, double startY) {
+        Transform transform = circle.getTransform();
+        double dx = transform.x - startX;
+        double dy = transform.y - startY;
+        return dx * dx + dy * dy > circle.getRadius() * circle.getRadius();
+    }
+
+    /**
+     * <p>对圆形物体做连续碰撞检测，发生碰撞时将其回退到首次接触的位置</p>
+     * <p>回退后保留{@link Settings#DEFAULT_TOI_PENETRATION}的穿透深度，使下一tick的离散碰撞检测能够产生接触</p>
+     *
+     * @param body    圆形物体
+     * @param startX  tick开始时的圆心x坐标
+     * @param startY  tick开始时的圆心y坐标
+     * @param targets 可能发生碰撞的静态物体
+     * @return 是否发生回退
+     */
+    public boolean solve(PhysicsBody body, double startX, double startY, List<PhysicsBody> targets) {
+        Circle circle = (Circle) body.getShape();
+        Transform transform = circle.getTransform();
+        double dx = transform.x - startX;
+        double dy = transform.y - startY;
+        double length = Math.sqrt(dx * dx + dy * dy);
+        if (length <= Epsilon.E) {
+            return false;
+        }
+
+        double toi = 1;
+        for (PhysicsBody target : targets) {
+            if (target == body) {
+                continue;
+            }
+            toi = Math.min(toi, this.getTimeOfImpact(startX, startY, dx, dy, length, circle.getRadius(), target.getShape()));
+        }
+        if (toi >= 1) {
+            return false;
+        }
+        double t = Math.min(1, toi + Settings.DEFAULT_TOI_PENETRATION / length);
+        transform.translate(-dx * (1 - t), -dy * (1 - t));
+        return true;
+    }
+
+    /**
+     * 求圆形沿位移与物体的首次接触时间，起点已经接触或整个位移内未接触时返回1
+     *
+     * @param x      起点圆心x坐标
+     * @param y      起点圆心y坐标
+     * @param dx     x轴位移
+     * @param dy     y轴位移
+     * @param length 位移长度
+     * @param radius 圆形半径
+     * @param shape  目标物体的形状
+     * @return double
+     */
+    public double getTimeOfImpact(double x, double y, double dx, double dy, double length, double radius, AbstractShape shape) {
+        double t = 0;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double distance = getDistance(x + dx * t, y + dy * t, shape) - radius;
+            if (distance <= Settings.DEFAULT_TOI_TOLERANCE) {
+                // 起点已经接触，交由离散碰撞检测处理
+                return t == 0 ? 1 : t;
+            }
+            t += distance / length;
+            if (t >= 1) {
+                return 1;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * 求点到物体的距离，点在物体内部时返回0
+     *
+     * @param x     点的x坐标
+     * @param y     点的y坐标
+     * @param shape 物体形状
+     * @return double
+     */
+    public static double getDistance(double x, double y, AbstractShape shape) {
+        if (shape instanceof Circle) {
+            Transform transform = shape.getTransform();
+            double dx = x - transform.x;
+            double dy = y - transform.y;
+            return Math.max(0, Math.sqrt(dx * dx + dy * dy) - ((Circle) shape).getRadius());
+        }
+        if (shape instanceof Polygon) {
+            return getPolygonDistance(x, y, ((Polygon) shape).getWorldVertices());
+        }
+        if (shape instanceof QuarterCircle) {
+            return getQuarterCircleDistance(x, y, (QuarterCircle) shape);
+        }
+        // 未知形状时退化为到AABB的距离
+        return getAABBDistance(x, y, shape);
+    }
+
+    /**
+     * 点到凸多边形的距离
+     *
+     * @param x        点的x坐标
+     * @param y        点的y坐标
+     * @param vertices 世界坐标系下的顶点
+     * @return double
+     */
+    private static double getPolygonDistance(double x, double y, Vector2[] vertices) {
+        int size = vertices.length;
+        double minDistanceSquared = Double.MAX_VALUE;
+        boolean positive = false;
+        boolean negative = false;
+        for (int i = 0; i < size; i++) {
+            Vector2 a = vertices[i];
+            Vector2 b = vertices[i + 1 == size ? 0 : i + 1];
+            double cross = (b.x - a.x) * (y - a.y) - (b.y - a.y) * (x - a.x);
+            if (cross > 0) {
+                positive = true;
+            } else if (cross < 0) {
+                negative = true;
+            }
+            minDistanceSquared = Math.min(minDistanceSquared, getSegmentDistanceSquared(x, y, a.x, a.y, b.x, b.y));
+        }
+        // 点在所有边的同一侧，即在多边形内部
+        if (!(positive && negative)) {
+            return 0;
+        }
+        return Math.sqrt(minDistanceSquared);
+    }
+
+    /**
+     * 点到四分之一圆的距离，圆心为第二个顶点，圆弧连接第一个和第三个顶点
+     *
+     * @param x             点的x坐标
+     * @param y             点的y坐标
+     * @param quarterCircle 四分之一圆
+     * @return double
+     */
+    private static double getQuarterCircleDistance(double x, double y, QuarterCircle quarterCircle) {
+        Vector2[] vertices = quarterCircle.getWorldVertices();
+        Vector2 v0 = vertices[0];
+        Vector2 center = vertices[1];
+        Vector2 v2 = vertices[2];
+        double radius = quarterCircle.getRadius();
+        double px = x - center.x;
+        double py = y - center.y;
+        double r1x = v0.x - center.x;
+        double r1y = v0.y - center.y;
+        double r2x = v2.x - center.x;
+        double r2y = v2.y - center.y;
+        double magnitude = Math.sqrt(px * px + py * py);
+        // 点是否在两条半径所夹的角度内
+        boolean inAngle = px * r1x + py * r1y >= 0 && px * r2x + py * r2y >= 0;
+        if (inAngle) {
+            return Math.max(0, magnitude - radius);
+        }
+        double d1 = getSegmentDistanceSquared(x, y, center.x, center.y, v0.x, v0.y);
+        double d2 = getSegmentDistanceSquared(x, y, center.x, center.y, v2.x, v2.y);
+        return Math.sqrt(Math.min(d1, d2));
+    }
+
+    private static double getAABBDistance(double x, double y, AbstractShape shape) {
+        double minX = shape.getAABB().minX;
+        double minY = shape.getAABB().minY;
+        double maxX = shape.getAABB().maxX;
+        double maxY = shape.getAABB().maxY;
+        double dx = Math.max(0, Math.max(minX - x, x - maxX));
+        double dy = Math.max(0, Math.max(minY - y, y - maxY));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * 点到线段距离的平方
+     */
+    private static double getSegmentDistanceSquared(double x, double y, double ax, double ay, double bx, double by) {
+        double abx = bx - ax;
+        double aby = by - ay;
+        double lengthSquared = abx * abx + aby * aby;
+        double t = lengthSquared <= Epsilon.E ? 0 : ((x - ax) * abx + (y - ay) * aby) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double dx = ax + abx * t - x;
+        double dy = ay + aby * t - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,74 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.WorldSettings;
+
+import java.util.List;
+
+/**
+ * <p>接触约束求解器，由{@link gizmoball.engine.collision.detector.CollisionDetector#LocalSolve}驱动</p>
+ * <p>每个tick分为{@link #getSubsteps()}个子步，每个子步依次进行速度积分、{@link #solveVelocity(List)}、
+ * 位置积分、{@link #solvePosition(List)}，第一个子步的速度积分之后调用{@link #initialize(List)}，
+ * 所有子步结束后调用{@link #finish(List)}</p>
+ */
+public interface ConstraintSolver {
+
+    /**
+     * 每个tick的子步数，每个子步的时长为{@link Settings#DEFAULT_TICK_FREQUENCY} / 子步数
+     *
+     * @return int
+     */
+    default int getSubsteps() {
+        return 1;
+    }
+
+    /**
+     * 设置迭代次数、子步数等运行时设置，由世界在设置求解器时注入
+     *
+     * @param settings 运行时设置
+     */
+    void setSettings(WorldSettings settings);
+
+    /**
+     * 初始化，为碰撞约束赋初始值
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    void initialize(List<ContactConstraint> contactConstraints);
+
+    /**
+     * 速度积分之后求解速度约束
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    void solveVelocity(List<ContactConstraint> contactConstraints);
+
+    /**
+     * 位置积分之后求解位置约束
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    void solvePosition(List<ContactConstraint> contactConstraints);
+
+    /**
+     * 所有子步结束后调用
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    default void finish(List<ContactConstraint> contactConstraints) {
+    }
+
+    /**
+     * 本tick执行的速度求解迭代次数
+     *
+     * @return int
+     */
+    int getVelocityIterations();
+
+    /**
+     * 本tick执行的位置求解迭代次数
+     *
+     * @return int
+     */
+    int getPositionIterations();
+}
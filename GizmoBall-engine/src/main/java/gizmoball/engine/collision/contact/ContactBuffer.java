@@ -0,0 +1,135 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.collision.manifold.Manifold;
+import gizmoball.engine.collision.manifold.ManifoldPoint;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>碰撞检测结果的缓冲区，按下标保存碰撞流形和对应的物体对</p>
+ * <p>每个槽位的{@link Manifold}在{@link #clear()}后复用，容量不足时按两倍扩容，
+ * 容量稳定后写入检测结果不再创建对象</p>
+ * <p>读取到的{@link Manifold}属于缓冲区，下次{@link #clear()}后会被覆盖，需要跨tick保存时应复制其中的数据</p>
+ * <p>不是线程安全的，并行检测时每个线程写入单独的缓冲区，再由调用线程通过{@link #addAll(ContactBuffer)}合并</p>
+ */
+public class ContactBuffer {
+
+    /**
+     * 默认容量
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private PhysicsBody[] bodies1;
+
+    private PhysicsBody[] bodies2;
+
+    private Manifold[] manifolds;
+
+    private int size;
+
+    public ContactBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ContactBuffer(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.bodies1 = new PhysicsBody[capacity];
+        this.bodies2 = new PhysicsBody[capacity];
+        this.manifolds = new Manifold[capacity];
+    }
+
+    /**
+     * 清空缓冲区，保留已创建的流形
+     */
+    public void clear() {
+        // 释放物体引用，避免移除的物体无法被回收
+        Arrays.fill(this.bodies1, 0, this.size, null);
+        Arrays.fill(this.bodies2, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * <p>获取下一个空闲槽位的流形并清空</p>
+     * <p>写入流形后调用{@link #commit(PhysicsBody, PhysicsBody)}提交，不提交时槽位在下次调用时被重新使用</p>
+     *
+     * @return Manifold
+     */
+    public Manifold next() {
+        if (this.size == this.manifolds.length) {
+            this.grow();
+        }
+        Manifold manifold = this.manifolds[this.size];
+        if (manifold == null) {
+            manifold = new Manifold();
+            this.manifolds[this.size] = manifold;
+        } else {
+            manifold.clear();
+        }
+        return manifold;
+    }
+
+    /**
+     * 提交{@link #next()}返回的流形
+     *
+     * @param body1 物体1
+     * @param body2 物体2
+     */
+    public void commit(PhysicsBody body1, PhysicsBody body2) {
+        this.bodies1[this.size] = body1;
+        this.bodies2[this.size] = body2;
+        this.size++;
+    }
+
+    /**
+     * 复制另一个缓冲区的全部检测结果
+     *
+     * @param other 缓冲区
+     */
+    public void addAll(ContactBuffer other) {
+        for (int i = 0; i < other.size; i++) {
+            Manifold source = other.manifolds[i];
+            Manifold manifold = this.next();
+            manifold.getNormal().x = source.getNormal().x;
+            manifold.getNormal().y = source.getNormal().y;
+            List<ManifoldPoint> points = source.getPoints();
+            for (int j = 0; j < points.size(); j++) {
+                ManifoldPoint point = points.get(j);
+                manifold.addPoint(point.getPoint(), point.getDepth());
+            }
+            this.commit(other.bodies1[i], other.bodies2[i]);
+        }
+    }
+
+    private void grow() {
+        int capacity = this.manifolds.length * 2;
+        this.bodies1 = Arrays.copyOf(this.bodies1, capacity);
+        this.bodies2 = Arrays.copyOf(this.bodies2, capacity);
+        this.manifolds = Arrays.copyOf(this.manifolds, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Manifold getManifold(int index) {
+        return manifolds[index];
+    }
+
+    public PhysicsBody getBody1(int index) {
+        return bodies1[index];
+    }
+
+    public PhysicsBody getBody2(int index) {
+        return bodies2[index];
+    }
+
+    public int getCapacity() {
+        return manifolds.length;
+    }
+}
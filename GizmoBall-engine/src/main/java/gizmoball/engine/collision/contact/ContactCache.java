@@ -0,0 +1,123 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.Pair;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>跨tick保存的{@link ContactConstraint}缓存，使接触点的累积冲量能用于下一tick的热启动</p>
+ * <p>以物体对为键（按引用比较，物体对顺序不同视为不同的键），本tick未再出现的物体对会被移除</p>
+ */
+public class ContactCache {
+
+    /**
+     * 物体1 -> 物体2 -> 缓存的碰撞约束
+     */
+    private final Map<PhysicsBody, Map<PhysicsBody, Entry>> constraints = new IdentityHashMap<>();
+
+    /**
+     * 本tick的碰撞约束，每个tick复用
+     */
+    private final List<ContactConstraint> contactConstraints = new ArrayList<>();
+
+    /**
+     * 缓存项总数
+     */
+    private int entryCount;
+
+    /**
+     * 当前tick
+     */
+    private long tick;
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+
+        private final ContactConstraint contactConstraint;
+
+        /**
+         * 最后一次更新时的tick
+         */
+        private long tick;
+
+        private Entry(ContactConstraint contactConstraint) {
+            this.contactConstraint = contactConstraint;
+        }
+    }
+
+    /**
+     * <p>使用本tick的碰撞流形更新缓存，返回本tick的碰撞约束</p>
+     * <p>流形的数据被复制到约束中，返回的列表在下次更新时复用</p>
+     *
+     * @param contacts 碰撞检测结果
+     * @return List
+     */
+    public List<ContactConstraint> update(ContactBuffer contacts) {
+        this.tick++;
+        List<ContactConstraint> contactConstraints = this.contactConstraints;
+        contactConstraints.clear();
+        // 本tick更新过的缓存项数
+        int updatedCount = 0;
+        for (int i = 0; i < contacts.size(); i++) {
+            PhysicsBody body1 = contacts.getBody1(i);
+            PhysicsBody body2 = contacts.getBody2(i);
+            Map<PhysicsBody, Entry> entries = this.constraints.computeIfAbsent(body1, k -> new IdentityHashMap<>());
+            Entry entry = entries.get(body2);
+            if (entry == null || entry.tick == this.tick) {
+                if (entry == null) {
+                    this.entryCount++;
+                    updatedCount++;
+                }
+                // 同一物体对在本tick出现多次时不共享约束
+                entry = new Entry(new ContactConstraint(new Pair<>(body1, body2)));
+                entries.put(body2, entry);
+            } else {
+                updatedCount++;
+            }
+            entry.tick = this.tick;
+            entry.contactConstraint.update(contacts.getManifold(i));
+            contactConstraints.add(entry.contactConstraint);
+        }
+        // 所有缓存项都已更新时不需要遍历
+        if (this.entryCount > updatedCount) {
+            this.evict();
+        }
+        return contactConstraints;
+    }
+
+    /**
+     * 移除本tick未更新的物体对
+     */
+    private void evict() {
+        Iterator<Map<PhysicsBody, Entry>> iterator = this.constraints.values().iterator();
+        while (iterator.hasNext()) {
+            Map<PhysicsBody, Entry> entries = iterator.next();
+            Iterator<Entry> entryIterator = entries.values().iterator();
+            while (entryIterator.hasNext()) {
+                if (entryIterator.next().tick != this.tick) {
+                    entryIterator.remove();
+                    this.entryCount--;
+                }
+            }
+            if (entries.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        this.constraints.clear();
+        this.contactConstraints.clear();
+        this.entryCount = 0;
+    }
+}
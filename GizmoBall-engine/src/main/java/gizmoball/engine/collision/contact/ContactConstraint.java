@@ -0,0 +1,204 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.Pair;
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.manifold.Manifold;
+import gizmoball.engine.collision.manifold.ManifoldPoint;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 碰撞约束
+ */
+@Data
+@AllArgsConstructor
+public class ContactConstraint {
+    /**
+     * 碰撞物体对
+     */
+    private Pair<PhysicsBody, PhysicsBody> pair;
+
+    /**
+     * 接触信息列表
+     */
+    private List<SolvableContact> contacts;
+
+    /**
+     * 碰撞法线
+     */
+    private Vector2 normal;
+
+    /**
+     * 碰撞切线
+     */
+    private Vector2 tangent;
+
+    /**
+     * 阻力系数
+     */
+    private double friction;
+
+    /**
+     * 回弹系数
+     */
+    private double restitution;
+
+    /**
+     * 回弹启动速度
+     */
+    private double restitutionVelocity;
+
+    /**
+     * 接触面切线速度（用于作用摩擦力）
+     */
+    private double tangentSpeed;
+
+    /**
+     * 接触信息列表大小
+     */
+    private int size;
+
+    /**
+     * 更新时暂存的热启动冲量，按jn, jt依次存放
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private double[] warmStartImpulses;
+
+    public ContactConstraint(Pair<PhysicsBody, PhysicsBody> pair) {
+        this.pair = pair;
+        this.contacts = new ArrayList<>(2);
+        this.normal = new Vector2();
+        this.tangent = new Vector2();
+        this.tangentSpeed = 0;
+        this.size = 0;
+        this.warmStartImpulses = new double[4];
+    }
+
+    /**
+     * <p>使用{@link Manifold}来更新本{@link ContactConstraint}</p>
+     * <p>新接触点与上一tick的接触点距离足够近时沿用其累积的法线冲量和切线冲量，用于热启动</p>
+     * <p>流形的数据被复制到原有的接触信息中，不保留流形的引用</p>
+     *
+     * @param manifold /
+     */
+    public void update(Manifold manifold) {
+        PhysicsBody body1 = getBody1();
+        PhysicsBody body2 = getBody2();
+
+        Vector2 normal = manifold.getNormal();
+        this.normal.x = normal.x;
+        this.normal.y = normal.y;
+
+        this.tangent.x = normal.y;
+        this.tangent.y = -normal.x;
+
+        this.friction = this.getMixedFriction(body1, body2);
+        this.restitution = this.getMixedRestitution(body1, body2);
+        this.restitutionVelocity = this.getMixedRestitutionVelocity(body1, body2);
+
+        this.tangentSpeed = 0;
+
+        List<ManifoldPoint> points = manifold.getPoints();
+        int count = points.size();
+        // 先按上一tick的接触点查找热启动冲量，再原地覆盖接触信息
+        if (this.warmStartImpulses.length < count * 2) {
+            this.warmStartImpulses = new double[count * 2];
+        }
+        for (int i = 0; i < count; i++) {
+            SolvableContact oldContact = this.getClosestContact(points.get(i).getPoint());
+            this.warmStartImpulses[i * 2] = oldContact != null ? oldContact.jn : 0;
+            this.warmStartImpulses[i * 2 + 1] = oldContact != null ? oldContact.jt : 0;
+        }
+        while (this.contacts.size() > count) {
+            this.contacts.remove(this.contacts.size() - 1);
+        }
+        Transform transform1 = body1.getShape().getTransform();
+        Transform transform2 = body2.getShape().getTransform();
+        for (int i = 0; i < count; i++) {
+            ManifoldPoint point = points.get(i);
+            SolvableContact contact;
+            if (i < this.contacts.size()) {
+                contact = this.contacts.get(i);
+            } else {
+                contact = new SolvableContact(new Vector2(), 0, new Vector2(), new Vector2());
+                this.contacts.add(contact);
+            }
+            Vector2 p = contact.getP();
+            p.x = point.getPoint().x;
+            p.y = point.getPoint().y;
+            contact.setDepth(point.getDepth());
+            Vector2 p1 = contact.getP1();
+            p1.x = p.x;
+            p1.y = p.y;
+            transform1.inverseTransform(p1);
+            Vector2 p2 = contact.getP2();
+            p2.x = p.x;
+            p2.y = p.y;
+            transform2.inverseTransform(p2);
+            contact.jn = this.warmStartImpulses[i * 2];
+            contact.jt = this.warmStartImpulses[i * 2 + 1];
+            contact.jp = 0;
+        }
+        this.size = count;
+    }
+
+    /**
+     * 查找上一tick中与给定接触点距离在热启动距离内的最近接触点
+     *
+     * @param point 世界坐标系下的接触点
+     * @return SolvableContact
+     */
+    private SolvableContact getClosestContact(Vector2 point) {
+        double maxDistanceSquared = Settings.DEFAULT_WARM_START_DISTANCE * Settings.DEFAULT_WARM_START_DISTANCE;
+        SolvableContact closest = null;
+        for (int i = 0; i < this.size; i++) {
+            SolvableContact contact = this.contacts.get(i);
+            double distanceSquared = contact.getP().distanceSquared(point);
+            if (distanceSquared <= maxDistanceSquared) {
+                closest = contact;
+                maxDistanceSquared = distanceSquared;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * 返回碰撞对第一个
+     *
+     * @return PhysicsBody
+     */
+    public PhysicsBody getBody1() {
+        return pair.getKey();
+    }
+
+    /**
+     * 返回碰撞对第二个
+     *
+     * @return PhysicsBody
+     */
+    public PhysicsBody getBody2() {
+        return pair.getValue();
+    }
+
+    private double getMixedRestitutionVelocity(PhysicsBody body1, PhysicsBody body2) {
+        return Math.max(body1.getRestitutionVelocity(), body2.getRestitutionVelocity());
+    }
+
+    private double getMixedRestitution(PhysicsBody body1, PhysicsBody body2) {
+        return Math.max(body1.getRestitution(), body2.getRestitution());
+    }
+
+    private double getMixedFriction(PhysicsBody body1, PhysicsBody body2) {
+        return Math.min(body1.getRestitution(), body2.getRestitution());
+    }
+
+}
@@ -0,0 +1,191 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.physics.MassType;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>将碰撞约束划分为互不相关的接触岛</p>
+ * <p>接触岛是动态物体通过碰撞约束连接而成的连通分量，静态物体不会连接接触岛，
+ * 因此不同接触岛之间没有共享的动态物体，可以独立求解</p>
+ * <p>接触岛按其第一个约束在输入列表中的位置排序，岛内约束保持输入顺序，划分结果是确定的</p>
+ * <p>划分使用的映射表、并查集和接触岛列表都在多次划分之间复用，约束规模不增长时划分不产生临时对象</p>
+ */
+public class IslandBuilder {
+
+    /**
+     * 动态物体到并查集下标的开放寻址映射，按物体的identityHashCode线性探测，空槽为null
+     */
+    private PhysicsBody[] keys = new PhysicsBody[16];
+
+    private int[] values = new int[16];
+
+    /**
+     * 本次划分已编号的动态物体数
+     */
+    private int bodyCount;
+
+    /**
+     * 并查集
+     */
+    private int[] parent = new int[0];
+
+    /**
+     * 并查集根节点对应的接触岛下标，-1表示还未创建
+     */
+    private int[] island = new int[0];
+
+    /**
+     * 本次划分的接触岛，每次划分时覆盖
+     */
+    private final List<List<ContactConstraint>> islands = new ArrayList<>();
+
+    /**
+     * 接触岛的约束列表池，下标与{@link #islands}一致
+     */
+    private final List<List<ContactConstraint>> islandPool = new ArrayList<>();
+
+    /**
+     * 划分接触岛
+     *
+     * @param contactConstraints 碰撞约束
+     * @return List 接触岛列表，在下一次划分时被覆盖
+     */
+    public List<List<ContactConstraint>> build(List<ContactConstraint> contactConstraints) {
+        int size = contactConstraints.size();
+        this.clearIndices(size * 2);
+        this.ensureCapacity(size * 2);
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int index1 = this.getIndex(contactConstraint.getBody1());
+            int index2 = this.getIndex(contactConstraint.getBody2());
+            if (index1 >= 0 && index2 >= 0) {
+                this.union(index1, index2);
+            }
+        }
+
+        this.islands.clear();
+        for (int i = 0; i < this.bodyCount; i++) {
+            this.island[i] = -1;
+        }
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int index = this.getIndex(contactConstraint.getBody1());
+            if (index < 0) {
+                index = this.getIndex(contactConstraint.getBody2());
+            }
+            if (index < 0) {
+                // 两个物体都是静态物体，单独成岛
+                this.nextIsland().add(contactConstraint);
+                continue;
+            }
+            int root = this.find(index);
+            if (this.island[root] < 0) {
+                this.island[root] = this.islands.size();
+                this.nextIsland();
+            }
+            this.islands.get(this.island[root]).add(contactConstraint);
+        }
+        return this.islands;
+    }
+
+    /**
+     * 从列表池中取出一个清空的列表作为新的接触岛
+     *
+     * @return List
+     */
+    private List<ContactConstraint> nextIsland() {
+        int index = this.islands.size();
+        if (index == this.islandPool.size()) {
+            this.islandPool.add(new ArrayList<>());
+        }
+        List<ContactConstraint> island = this.islandPool.get(index);
+        island.clear();
+        this.islands.add(island);
+        return island;
+    }
+
+    /**
+     * 获取动态物体的并查集下标，静态物体返回-1
+     *
+     * @param body 物体
+     * @return int
+     */
+    private int getIndex(PhysicsBody body) {
+        if (body.getMass().getType() != MassType.NORMAL) {
+            return -1;
+        }
+        int mask = this.keys.length - 1;
+        int slot = mix(System.identityHashCode(body)) & mask;
+        while (this.keys[slot] != null) {
+            if (this.keys[slot] == body) {
+                return this.values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int index = this.bodyCount++;
+        this.keys[slot] = body;
+        this.values[slot] = index;
+        this.parent[index] = index;
+        return index;
+    }
+
+    /**
+     * 打散identityHashCode的低位，减少线性探测的聚集
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 清空映射，并保证装载因子不超过1/2
+     *
+     * @param bodies 本次划分至多出现的物体数
+     */
+    private void clearIndices(int bodies) {
+        this.bodyCount = 0;
+        if (this.keys.length < bodies * 2) {
+            int capacity = Integer.highestOneBit(Math.max(bodies * 2 - 1, 1)) << 1;
+            this.keys = new PhysicsBody[capacity];
+            this.values = new int[capacity];
+        } else {
+            // 同时释放上一次划分的物体引用
+            Arrays.fill(this.keys, null);
+        }
+    }
+
+    private int find(int index) {
+        while (this.parent[index] != index) {
+            // 路径减半
+            this.parent[index] = this.parent[this.parent[index]];
+            index = this.parent[index];
+        }
+        return index;
+    }
+
+    private void union(int index1, int index2) {
+        int root1 = this.find(index1);
+        int root2 = this.find(index2);
+        if (root1 == root2) {
+            return;
+        }
+        // 以较小的下标为根，使结果与合并顺序无关
+        if (root1 < root2) {
+            this.parent[root2] = root1;
+        } else {
+            this.parent[root1] = root2;
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.parent.length < size) {
+            int capacity = Math.max(size, this.parent.length * 2);
+            this.parent = new int[capacity];
+            this.island = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.WorldSettings;
+import gizmoball.engine.collision.Interval;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>基于连续冲量的本地碰撞求解器</p>
+ * <p>速度求解和位置求解全部使用基本类型计算，每次迭代不产生临时对象</p>
+ * <p>每个tick只有一个子步，速度和位置各迭代至多{@link WorldSettings#getSolverIterations()}次</p>
+ */
+public class SequentialImpulses implements ConstraintSolver {
+
+    /**
+     * 迭代次数和收敛容差，默认取{@link Settings}中的值
+     */
+    @Getter
+    @Setter
+    private WorldSettings settings = new WorldSettings();
+
+    /**
+     * 本tick实际执行的速度求解迭代次数
+     */
+    @Getter
+    private int velocityIterations;
+
+    /**
+     * 本tick实际执行的位置求解迭代次数
+     */
+    @Getter
+    private int positionIterations;
+
+    /**
+     * <p>并行求解接触岛的线程池，为null时对所有约束整体求解</p>
+     * <p>求解时等待线程池静止，线程池应专门用于求解，不能是公共线程池或执行其他任务的线程池</p>
+     */
+    @Getter
+    @Setter
+    private ForkJoinPool islandPool;
+
+    private final IslandBuilder islandBuilder = new IslandBuilder();
+
+    /**
+     * 本tick的接触岛，只在设置了线程池时划分
+     */
+    @Getter
+    private List<List<ContactConstraint>> islands = Collections.emptyList();
+
+    /**
+     * 每个接触岛的求解任务，下标与{@link #islands}一致，在多个tick之间复用
+     */
+    private final List<IslandTask> islandTasks = new ArrayList<>();
+
+    /**
+     * 对于所给的{@link SolvableContact}计算其有效质量
+     *
+     * @param contactConstraint 传入{@link ContactConstraint}
+     * @param contact           传入{@link SolvableContact}
+     * @param n                 法线
+     * @return double
+     */
+    static double getMassCoefficient(ContactConstraint contactConstraint, SolvableContact contact, Vector2 n) {
+        Vector2 r1 = contact.getR1();
+        Vector2 r2 = contact.getR2();
+        return getMassCoefficient(contactConstraint, r1.x, r1.y, r2.x, r2.y, n);
+    }
+
+    /**
+     * 对于所给的{@link SolvableContact}计算其有效质量
+     *
+     * @param contactConstraint 传入{@link ContactConstraint}
+     * @param r1x               {@link SolvableContact}的r1的x坐标
+     * @param r1y               {@link SolvableContact}的r1的y坐标
+     * @param r2x               {@link SolvableContact}的r2的x坐标
+     * @param r2y               {@link SolvableContact}的r2的y坐标
+     * @param n                 法线
+     * @return double
+     */
+    static double getMassCoefficient(ContactConstraint contactConstraint, double r1x, double r1y, double r2x, double r2y, Vector2 n) {
+        Mass m1 = contactConstraint.getBody1().getMass();
+        Mass m2 = contactConstraint.getBody2().getMass();
+
+        double r1CrossN = r1x * n.y - r1y * n.x;
+        double r2CrossN = r2x * n.y - r2y * n.x;
+
+        return m1.getInverseMass() + m2.getInverseMass() + m1.getInverseInertia() * r1CrossN * r1CrossN + m2.getInverseInertia() * r2CrossN * r2CrossN;
+    }
+
+    /**
+     * 判断物体是否可以被冲量改变，质量和转动惯量倒数均为0的物体（固定物体）无需更新
+     *
+     * @param mass 物体质量
+     * @return boolean
+     */
+    static boolean isMovable(Mass mass) {
+        return mass.getInverseMass() != 0 || mass.getInverseInertia() != 0;
+    }
+
+    /**
+     * 对{@link ContactConstraint}中的物体施加所给冲量，改变物体的线速度和角速度
+     *
+     * @param contactConstraint 传入{@link ContactConstraint}
+     * @param contact           传入{@link SolvableContact}
+     * @param jx                冲量的x分量
+     * @param jy                冲量的y分量
+     */
+    static void updateBodies(ContactConstraint contactConstraint, SolvableContact contact, double jx, double jy) {
+        PhysicsBody b1 = contactConstraint.getBody1();
+        PhysicsBody b2 = contactConstraint.getBody2();
+        Mass m1 = b1.getMass();
+        Mass m2 = b2.getMass();
+
+        if (isMovable(m1)) {
+            Vector2 v1 = b1.getLinearVelocity();
+            Vector2 r1 = contact.getR1();
+            v1.x += jx * m1.getInverseMass();
+            v1.y += jy * m1.getInverseMass();
+            b1.setAngularVelocity(b1.getAngularVelocity() + m1.getInverseInertia() * (r1.x * jy - r1.y * jx));
+        }
+
+        if (isMovable(m2)) {
+            Vector2 v2 = b2.getLinearVelocity();
+            Vector2 r2 = contact.getR2();
+            v2.x -= jx * m2.getInverseMass();
+            v2.y -= jy * m2.getInverseMass();
+            b2.setAngularVelocity(b2.getAngularVelocity() - m2.getInverseInertia() * (r2.x * jy - r2.y * jx));
+        }
+    }
+
+    /**
+     * 计算传入{@link ContactConstraint}中物体的相对速度在给定方向上的投影
+     *
+     * @param contactConstraint 传入{@link ContactConstraint}
+     * @param contact           传入{@link SolvableContact}
+     * @param n                 投影方向
+     * @return double
+     */
+    static double getRelativeVelocity(ContactConstraint contactConstraint, SolvableContact contact, Vector2 n) {
+        PhysicsBody b1 = contactConstraint.getBody1();
+        PhysicsBody b2 = contactConstraint.getBody2();
+        Vector2 r1 = contact.getR1();
+        Vector2 r2 = contact.getR2();
+        Vector2 v1 = b1.getLinearVelocity();
+        Vector2 v2 = b2.getLinearVelocity();
+        double w1 = b1.getAngularVelocity();
+        double w2 = b2.getAngularVelocity();
+
+        // lv = v + w x r
+        double rvx = (v1.x - w1 * r1.y) - (v2.x - w2 * r2.y);
+        double rvy = (v1.y + w1 * r1.x) - (v2.y + w2 * r2.x);
+
+        return n.x * rvx + n.y * rvy;
+    }
+
+    /**
+     * 初始化，为碰撞约束赋初始值
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void initialize(List<ContactConstraint> contactConstraints) {
+        this.velocityIterations = 0;
+        this.positionIterations = 0;
+        this.islands = this.islandPool == null ? Collections.emptyList() : this.islandBuilder.build(contactConstraints);
+        for (int i = 0; i < this.islands.size(); i++) {
+            if (i == this.islandTasks.size()) {
+                this.islandTasks.add(new IslandTask());
+            }
+            this.islandTasks.get(i).island = this.islands.get(i);
+        }
+        // 使用下标遍历，避免创建迭代器
+        int size = contactConstraints.size();
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            double restitutionVelocity = contactConstraint.getRestitutionVelocity();
+
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+
+            int cSize = contacts.size();
+            if (cSize == 0) return;
+
+            PhysicsBody b1 = contactConstraint.getBody1();
+            PhysicsBody b2 = contactConstraint.getBody2();
+
+            Transform t1 = b1.getShape().getTransform();
+            Transform t2 = b2.getShape().getTransform();
+
+            Mass m1 = b1.getMass();
+            Mass m2 = b2.getMass();
+
+            double c1x = t1.getTransformedX(m1.getCenter());
+            double c1y = t1.getTransformedY(m1.getCenter());
+            double c2x = t2.getTransformedX(m2.getCenter());
+            double c2y = t2.getTransformedY(m2.getCenter());
+
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+
+            for (int j = 0; j < cSize; j++) {
+                SolvableContact contact = contacts.get(j);
+                Vector2 p = contact.getP();
+                // r1和r2在接触点的生命周期内复用
+                if (contact.getR1() == null) {
+                    contact.setR1(new Vector2());
+                    contact.setR2(new Vector2());
+                }
+                Vector2 r1 = contact.getR1();
+                r1.x = p.x - c1x;
+                r1.y = p.y - c1y;
+                Vector2 r2 = contact.getR2();
+                r2.x = p.x - c2x;
+                r2.y = p.y - c2y;
+
+                contact.setMassN(1.0 / getMassCoefficient(contactConstraint, contact, N));
+                contact.setMassT(1.0 / getMassCoefficient(contactConstraint, contact, T));
+                contact.setVb(0.0);
+
+                double rvn = getRelativeVelocity(contactConstraint, contact, N);
+
+                if (rvn < -restitutionVelocity) {
+                    contact.vb += -contactConstraint.getRestitution() * rvn;
+                }
+            }
+        }
+        // 热启动
+        this.warmStart(contactConstraints);
+    }
+
+    /**
+     * 碰撞热启动以减少迭代次数
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    private void warmStart(List<ContactConstraint> contactConstraints) {
+        int size = contactConstraints.size();
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            int cSize = contactConstraint.getSize();
+
+            for (int j = 0; j < cSize; j++) {
+                SolvableContact contact = contacts.get(j);
+                updateBodies(contactConstraint, contact,
+                        N.x * contact.jn + T.x * contact.jt,
+                        N.y * contact.jn + T.y * contact.jt);
+            }
+        }
+    }
+
+    /**
+     * <p>迭代求解速度约束，收敛后提前结束</p>
+     * <p>设置了线程池且存在多个接触岛时，各接触岛在线程池中独立迭代，实际迭代次数取各接触岛的最大值。
+     * 不同接触岛之间没有共享的动态物体，静态物体也不会被修改，因此结果与线程调度无关</p>
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void solveVelocity(List<ContactConstraint> contactConstraints) {
+        if (this.islandPool == null || this.islands.size() < 2) {
+            int iterations = this.settings.getSolverIterations();
+            double tolerance = this.settings.getVelocityTolerance();
+            for (int i = 0; i < iterations; i++) {
+                if (this.solveVelocityConstraints(contactConstraints) < tolerance) {
+                    break;
+                }
+            }
+            return;
+        }
+        this.velocityIterations = this.solveIslands(true);
+    }
+
+    /**
+     * <p>迭代求解位置约束，收敛后提前结束</p>
+     * <p>接触岛的处理与{@link #solveVelocity(List)}相同</p>
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void solvePosition(List<ContactConstraint> contactConstraints) {
+        if (this.islandPool == null || this.islands.size() < 2) {
+            int iterations = this.settings.getSolverIterations();
+            double tolerance = this.settings.getPositionTolerance();
+            for (int i = 0; i < iterations; i++) {
+                if (this.solvePositionConstraints(contactConstraints) < tolerance) {
+                    break;
+                }
+            }
+            return;
+        }
+        this.positionIterations = this.solveIslands(false);
+    }
+
+    /**
+     * <p>在线程池中并行迭代各接触岛，返回各接触岛迭代次数的最大值</p>
+     * <p>每个接触岛提交一个复用的任务，调用线程在等待线程池静止期间也执行任务，
+     * 等待结束后所有任务都已完成，join只用于取回任务中抛出的异常</p>
+     *
+     * @param velocity true为速度求解，false为位置求解
+     * @return int
+     */
+    private int solveIslands(boolean velocity) {
+        int count = this.islands.size();
+        for (int i = 0; i < count; i++) {
+            IslandTask task = this.islandTasks.get(i);
+            task.reinitialize();
+            task.velocity = velocity;
+            this.islandPool.execute(task);
+        }
+        this.islandPool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        int max = 0;
+        for (int i = 0; i < count; i++) {
+            IslandTask task = this.islandTasks.get(i);
+            task.join();
+            max = Math.max(max, task.iterations);
+        }
+        return max;
+    }
+
+    private int iterateVelocity(List<ContactConstraint> contactConstraints) {
+        int iterations = this.settings.getSolverIterations();
+        double tolerance = this.settings.getVelocityTolerance();
+        for (int i = 0; i < iterations; i++) {
+            if (this.velocityPass(contactConstraints) < tolerance) {
+                return i + 1;
+            }
+        }
+        return iterations;
+    }
+
+    private int iteratePosition(List<ContactConstraint> contactConstraints) {
+        int iterations = this.settings.getSolverIterations();
+        double tolerance = this.settings.getPositionTolerance();
+        for (int i = 0; i < iterations; i++) {
+            if (this.positionPass(contactConstraints) < tolerance) {
+                return i + 1;
+            }
+        }
+        return iterations;
+    }
+
+    /**
+     * 速度求解器，迭代过程中不创建任何对象
+     *
+     * @param contactConstraints 碰撞约束
+     * @return 本次迭代中冲量变化引起的最大相对速度变化，用于判断是否收敛
+     */
+    public double solveVelocityConstraints(List<ContactConstraint> contactConstraints) {
+        this.velocityIterations++;
+        return this.velocityPass(contactConstraints);
+    }
+
+    /**
+     * 执行一次速度求解迭代，不修改求解器的状态
+     *
+     * @param contactConstraints 碰撞约束
+     * @return double
+     */
+    private double velocityPass(List<ContactConstraint> contactConstraints) {
+        double maxDelta = 0;
+        // 使用下标遍历，避免创建迭代器
+        int size = contactConstraints.size();
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            int cSize = contactConstraint.getSize();
+            if (cSize == 0) continue;
+
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+            double tangentSpeed = contactConstraint.getTangentSpeed();
+            // 施加摩擦冲量
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                double rvt = getRelativeVelocity(contactConstraint, contact, T) - tangentSpeed;
+                double jt = contact.getMassT() * (-rvt);
+
+                double maxJt = contactConstraint.getFriction() * contact.jn;
+
+                double Jt0 = contact.jt;
+                contact.jt = Math.max(-maxJt, Math.min(Jt0 + jt, maxJt));
+                jt = contact.jt - Jt0;
+                maxDelta = Math.max(maxDelta, Math.abs(jt) / contact.getMassT());
+
+                updateBodies(contactConstraint, contact, T.x * jt, T.y * jt);
+            }
+
+            // 施加碰撞冲量
+            if (cSize == 1) {
+                SolvableContact contact = contacts.get(0);
+                double rvn = getRelativeVelocity(contactConstraint, contact, N);
+
+                // 添加与穿透深度有关的偏差项，来对抗物体的下跌
+                double j = -contact.getMassN() * (rvn - contact.vb);
+
+                double j0 = contact.jn;
+                contact.jn = Math.max(j0 + j, 0.0);
+                j = contact.jn - j0;
+                maxDelta = Math.max(maxDelta, Math.abs(j) / contact.getMassN());
+
+                updateBodies(contactConstraint, contact, N.x * j, N.y * j);
+            }
+            // 不存在多边形和多边形的碰撞
+        }
+        return maxDelta;
+    }
+
+    /**
+     * 位置求解器，迭代过程中不创建任何对象
+     *
+     * @param contactConstraints 碰撞约束
+     * @return 本次迭代校正前的最大穿透深度，用于判断是否收敛
+     */
+    public double solvePositionConstraints(List<ContactConstraint> contactConstraints) {
+        this.positionIterations++;
+        return this.positionPass(contactConstraints);
+    }
+
+    /**
+     * 执行一次位置求解迭代，不修改求解器的状态
+     *
+     * @param contactConstraints 碰撞约束
+     * @return double
+     */
+    private double positionPass(List<ContactConstraint> contactConstraints) {
+        if (contactConstraints.size() == 0) return 0;
+
+        double maxPenetration = 0;
+
+        // 最大线性位置校正，用于防止过冲
+        double maxLinearCorrection = Settings.DEFAULT_MAXIMUM_LINEAR_CORRECTION;
+        // 线性容差，用于防止过冲
+        double allowedPenetration = Settings.DEFAULT_LINEAR_TOLERANCE;
+        // 比例因子，该比例因子确定解决碰撞重叠的速度
+        double baumgarte = Settings.DEFAULT_BAUMGARTE;
+
+        // 使用下标遍历，避免创建迭代器
+        int size = contactConstraints.size();
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            int cSize = contactConstraint.getSize();
+            if (cSize == 0) continue;
+
+            PhysicsBody b1 = contactConstraint.getBody1();
+            PhysicsBody b2 = contactConstraint.getBody2();
+
+            Transform t1 = b1.getShape().getTransform();
+            Transform t2 = b2.getShape().getTransform();
+
+            Mass m1 = b1.getMass();
+            Mass m2 = b2.getMass();
+
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 center1 = m1.getCenter();
+            Vector2 center2 = m2.getCenter();
+            boolean movable1 = isMovable(m1);
+            boolean movable2 = isMovable(m2);
+
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+
+                double c1x = t1.getTransformedX(center1);
+                double c1y = t1.getTransformedY(center1);
+                double c2x = t2.getTransformedX(center2);
+                double c2y = t2.getTransformedY(center2);
+
+                // 物体坐标系下的质心到接触点的向量旋转到世界坐标系
+                Vector2 lp1 = contact.getP1();
+                double l1x = lp1.x - center1.x;
+                double l1y = lp1.y - center1.y;
+                double r1x = t1.cost * l1x - t1.sint * l1y;
+                double r1y = t1.sint * l1x + t1.cost * l1y;
+                Vector2 lp2 = contact.getP2();
+                double l2x = lp2.x - center2.x;
+                double l2y = lp2.y - center2.y;
+                double r2x = t2.cost * l2x - t2.sint * l2y;
+                double r2y = t2.sint * l2x + t2.cost * l2y;
+
+                double dpx = (c1x + r1x) - (c2x + r2x);
+                double dpy = (c1y + r1y) - (c2y + r2y);
+
+                double penetration = dpx * N.x + dpy * N.y - contact.getDepth();
+                maxPenetration = Math.max(maxPenetration, -penetration);
+
+                // 防止过冲
+                double cp = baumgarte * Interval.sandwich(penetration + allowedPenetration, -maxLinearCorrection, 0.0);
+
+                // 计算位置冲量
+                double K = getMassCoefficient(contactConstraint, r1x, r1y, r2x, r2y, N);
+                double jp = (K > Epsilon.E) ? (-cp / K) : 0.0;
+
+                // 对位置冲量进行约束
+                double jp0 = contact.jp;
+                contact.jp = Math.max(jp0 + jp, 0.0);
+                jp = contact.jp - jp0;
+
+                double jx = N.x * jp;
+                double jy = N.y * jp;
+
+                // 使用计算出的位置冲量对物体进行旋转和平移，固定物体不做修改以免其形状缓存失效
+                if (movable1) {
+                    t1.translate(jx * m1.getInverseMass(), jy * m1.getInverseMass());
+                    t1.rotate(m1.getInverseInertia() * (r1x * jy - r1y * jx), c1x, c1y);
+                }
+                if (movable2) {
+                    t2.translate(-jx * m2.getInverseMass(), -jy * m2.getInverseMass());
+                    t2.rotate(-m2.getInverseInertia() * (r2x * jy - r2y * jx), c2x, c2y);
+                }
+            }
+        }
+        return maxPenetration;
+    }
+
+    /**
+     * 迭代求解一个接触岛，求解结束后记录实际迭代次数
+     */
+    private final class IslandTask extends RecursiveAction {
+
+        private List<ContactConstraint> island;
+
+        private boolean velocity;
+
+        private int iterations;
+
+        @Override
+        protected void compute() {
+            this.iterations = this.velocity ? iterateVelocity(this.island) : iteratePosition(this.island);
+        }
+    }
+}
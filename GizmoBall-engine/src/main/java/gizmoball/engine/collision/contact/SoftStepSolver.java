@@ -0,0 +1,327 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.WorldSettings;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+import static gizmoball.engine.collision.contact.SequentialImpulses.getMassCoefficient;
+import static gizmoball.engine.collision.contact.SequentialImpulses.getRelativeVelocity;
+import static gizmoball.engine.collision.contact.SequentialImpulses.updateBodies;
+
+/**
+ * <p>子步软约束求解器，每个tick分为若干子步，每个子步只做一次速度求解和一次松弛</p>
+ * <p>接触约束视为弹簧阻尼，穿透通过有上限的偏差速度在若干子步内逐渐消除，不再单独迭代位置。
+ * 松弛时去掉偏差速度，避免消除穿透的速度在下一子步变为反弹</p>
+ * <p>每个子步依次进行：</p>
+ * <p>1. 积分重力和受力</p>
+ * <p>2. 热启动，施加上一子步累积的冲量</p>
+ * <p>3. 带偏差速度的软约束求解</p>
+ * <p>4. 积分位置</p>
+ * <p>5. 不带偏差速度的刚性约束求解（松弛）</p>
+ * <p>所有子步结束后按碰撞前的相对速度施加一次回弹</p>
+ * <p>子步数由{@link WorldSettings#getSubsteps()}决定，默认4个子步共8次迭代，{@link SequentialImpulses}每tick最多迭代50次</p>
+ */
+public class SoftStepSolver implements ConstraintSolver {
+
+    /**
+     * 运行时设置，只使用其中的子步数，由世界注入
+     */
+    @Getter
+    @Setter
+    private WorldSettings settings = new WorldSettings();
+
+    /**
+     * 接触约束的刚度，单位Hz
+     */
+    private final double contactHertz;
+
+    /**
+     * 接触约束的阻尼比
+     */
+    private final double dampingRatio;
+
+    /**
+     * 消除穿透的最大速度
+     */
+    private final double pushVelocity;
+
+    /**
+     * 子步时长的倒数
+     */
+    private double inverseSubstep;
+
+    /**
+     * 由刚度和阻尼比计算的软约束参数，穿透深度到偏差速度的比例
+     */
+    private double biasRate;
+
+    /**
+     * 软约束参数，有效质量的缩放比例
+     */
+    private double massScale;
+
+    /**
+     * 软约束参数，累积冲量的衰减比例
+     */
+    private double impulseScale;
+
+    /**
+     * 本tick执行的速度求解次数
+     */
+    @Getter
+    private int velocityIterations;
+
+    /**
+     * 本tick执行的松弛次数
+     */
+    @Getter
+    private int positionIterations;
+
+    public SoftStepSolver() {
+        this(Settings.DEFAULT_CONTACT_HERTZ, Settings.DEFAULT_CONTACT_DAMPING_RATIO);
+    }
+
+    /**
+     * @param contactHertz 接触约束的刚度，单位Hz
+     * @param dampingRatio 接触约束的阻尼比
+     */
+    public SoftStepSolver(double contactHertz, double dampingRatio) {
+        this.contactHertz = contactHertz;
+        this.dampingRatio = dampingRatio;
+        this.pushVelocity = Settings.DEFAULT_CONTACT_PUSH_VELOCITY;
+    }
+
+    @Override
+    public int getSubsteps() {
+        return this.settings.getSubsteps();
+    }
+
+    /**
+     * 计算软约束参数、有效质量和回弹速度，热启动在每个子步的速度求解前进行
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void initialize(List<ContactConstraint> contactConstraints) {
+        this.velocityIterations = 0;
+        this.positionIterations = 0;
+
+        double h = Settings.DEFAULT_TICK_FREQUENCY / this.getSubsteps();
+        this.inverseSubstep = 1.0 / h;
+        // 刚度过高时在子步内不稳定
+        double hertz = Math.min(this.contactHertz, 0.25 * this.inverseSubstep);
+        double omega = 2.0 * Math.PI * hertz;
+        double a1 = 2.0 * this.dampingRatio + h * omega;
+        double a2 = h * omega * a1;
+        double a3 = 1.0 / (1.0 + a2);
+        this.biasRate = omega / a1;
+        this.massScale = a2 * a3;
+        this.impulseScale = a3;
+
+        for (int i = 0; i < contactConstraints.size(); i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int cSize = contactConstraint.getSize();
+            if (cSize == 0) continue;
+
+            PhysicsBody b1 = contactConstraint.getBody1();
+            PhysicsBody b2 = contactConstraint.getBody2();
+            Transform t1 = b1.getShape().getTransform();
+            Transform t2 = b2.getShape().getTransform();
+            Mass m1 = b1.getMass();
+            Mass m2 = b2.getMass();
+            double c1x = t1.getTransformedX(m1.getCenter());
+            double c1y = t1.getTransformedY(m1.getCenter());
+            double c2x = t2.getTransformedX(m2.getCenter());
+            double c2y = t2.getTransformedY(m2.getCenter());
+
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+            double restitutionVelocity = contactConstraint.getRestitutionVelocity();
+
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                Vector2 p = contact.getP();
+                // r1和r2在接触点的生命周期内复用
+                if (contact.getR1() == null) {
+                    contact.setR1(new Vector2());
+                    contact.setR2(new Vector2());
+                }
+                Vector2 r1 = contact.getR1();
+                r1.x = p.x - c1x;
+                r1.y = p.y - c1y;
+                Vector2 r2 = contact.getR2();
+                r2.x = p.x - c2x;
+                r2.y = p.y - c2y;
+
+                contact.setMassN(1.0 / getMassCoefficient(contactConstraint, contact, N));
+                contact.setMassT(1.0 / getMassCoefficient(contactConstraint, contact, T));
+                contact.setVb(0.0);
+
+                double rvn = getRelativeVelocity(contactConstraint, contact, N);
+                if (rvn < -restitutionVelocity) {
+                    contact.vb = -contactConstraint.getRestitution() * rvn;
+                }
+            }
+        }
+    }
+
+    /**
+     * 热启动后带偏差速度求解一次
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void solveVelocity(List<ContactConstraint> contactConstraints) {
+        this.velocityIterations++;
+        this.warmStart(contactConstraints);
+        this.solve(contactConstraints, true);
+    }
+
+    /**
+     * 位置积分后不带偏差速度求解一次
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void solvePosition(List<ContactConstraint> contactConstraints) {
+        this.positionIterations++;
+        this.solve(contactConstraints, false);
+    }
+
+    /**
+     * 施加回弹，使碰撞后的相对速度达到碰撞前的相对速度乘以回弹系数
+     *
+     * @param contactConstraints 碰撞约束
+     */
+    @Override
+    public void finish(List<ContactConstraint> contactConstraints) {
+        for (int i = 0; i < contactConstraints.size(); i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int cSize = contactConstraint.getSize();
+            Vector2 N = contactConstraint.getNormal();
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                if (contact.vb <= 0) continue;
+
+                double rvn = getRelativeVelocity(contactConstraint, contact, N);
+                double j = -contact.getMassN() * (rvn - contact.vb);
+                double j0 = contact.jn;
+                contact.jn = Math.max(j0 + j, 0.0);
+                j = contact.jn - j0;
+                updateBodies(contactConstraint, contact, N.x * j, N.y * j);
+            }
+        }
+    }
+
+    private void warmStart(List<ContactConstraint> contactConstraints) {
+        for (int i = 0; i < contactConstraints.size(); i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int cSize = contactConstraint.getSize();
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                if (contact.jn == 0 && contact.jt == 0) continue;
+                updateBodies(contactConstraint, contact,
+                        N.x * contact.jn + T.x * contact.jt,
+                        N.y * contact.jn + T.y * contact.jt);
+            }
+        }
+    }
+
+    /**
+     * 求解一次速度约束，迭代过程中不创建任何对象
+     *
+     * @param contactConstraints 碰撞约束
+     * @param useBias            是否使用软约束和偏差速度消除穿透，否则为刚性约束
+     */
+    private void solve(List<ContactConstraint> contactConstraints, boolean useBias) {
+        double allowedPenetration = Settings.DEFAULT_LINEAR_TOLERANCE;
+        int size = contactConstraints.size();
+        for (int i = 0; i < size; i++) {
+            ContactConstraint contactConstraint = contactConstraints.get(i);
+            int cSize = contactConstraint.getSize();
+            if (cSize == 0) continue;
+
+            List<SolvableContact> contacts = contactConstraint.getContacts();
+            Vector2 N = contactConstraint.getNormal();
+            Vector2 T = contactConstraint.getTangent();
+            Transform t1 = contactConstraint.getBody1().getShape().getTransform();
+            Transform t2 = contactConstraint.getBody2().getShape().getTransform();
+
+            // 施加碰撞冲量
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                double separation = getSeparation(t1, t2, N, contact);
+
+                double bias = 0.0;
+                double massScale = 1.0;
+                double impulseScale = 0.0;
+                if (separation > 0) {
+                    // 尚未接触，允许在本子步内接近到刚好接触
+                    bias = separation * this.inverseSubstep;
+                } else if (useBias) {
+                    bias = Math.max(this.biasRate * Math.min(separation + allowedPenetration, 0.0), -this.pushVelocity);
+                    massScale = this.massScale;
+                    impulseScale = this.impulseScale;
+                }
+
+                double rvn = getRelativeVelocity(contactConstraint, contact, N);
+                double j = -contact.getMassN() * massScale * (rvn + bias) - impulseScale * contact.jn;
+
+                double j0 = contact.jn;
+                contact.jn = Math.max(j0 + j, 0.0);
+                j = contact.jn - j0;
+
+                updateBodies(contactConstraint, contact, N.x * j, N.y * j);
+            }
+
+            // 施加摩擦冲量
+            double tangentSpeed = contactConstraint.getTangentSpeed();
+            for (int k = 0; k < cSize; k++) {
+                SolvableContact contact = contacts.get(k);
+                double rvt = getRelativeVelocity(contactConstraint, contact, T) - tangentSpeed;
+                double jt = contact.getMassT() * (-rvt);
+
+                double maxJt = contactConstraint.getFriction() * contact.jn;
+
+                double jt0 = contact.jt;
+                contact.jt = Math.max(-maxJt, Math.min(jt0 + jt, maxJt));
+                jt = contact.jt - jt0;
+
+                updateBodies(contactConstraint, contact, T.x * jt, T.y * jt);
+            }
+        }
+    }
+
+    /**
+     * 按物体当前的位置计算接触点的分离距离，穿透时为负数，与{@link SequentialImpulses}的位置求解一致
+     *
+     * @param t1      物体1的变换
+     * @param t2      物体2的变换
+     * @param n       法线
+     * @param contact 接触点
+     * @return double
+     */
+    private static double getSeparation(Transform t1, Transform t2, Vector2 n, SolvableContact contact) {
+        // 物体坐标系下的接触点变换到世界坐标系
+        Vector2 lp1 = contact.getP1();
+        Vector2 lp2 = contact.getP2();
+        double p1x = t1.cost * lp1.x - t1.sint * lp1.y + t1.x;
+        double p1y = t1.sint * lp1.x + t1.cost * lp1.y + t1.y;
+        double p2x = t2.cost * lp2.x - t2.sint * lp2.y + t2.x;
+        double p2y = t2.sint * lp2.x + t2.cost * lp2.y + t2.y;
+
+        return (p1x - p2x) * n.x + (p1y - p2y) * n.y - contact.getDepth();
+    }
+}
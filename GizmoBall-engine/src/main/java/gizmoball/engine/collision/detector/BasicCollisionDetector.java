@@ -0,0 +1,210 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.TickMetrics;
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.contact.ContactCache;
+import gizmoball.engine.collision.contact.ConstraintSolver;
+import gizmoball.engine.collision.contact.ContactConstraint;
+import gizmoball.engine.collision.contact.SequentialImpulses;
+import gizmoball.engine.collision.manifold.Manifold;
+import gizmoball.engine.collision.manifold.ManifoldSolver;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.List;
+
+/**
+ * <p>非常基础的碰撞探测器，包含碰撞检测和碰撞求解</p>
+ * <p>检测时复用穿透信息和流形求解器，不同线程不能共用同一个探测器</p>
+ */
+public class BasicCollisionDetector implements CollisionDetector {
+
+    /**
+     * 接触约束缓存
+     */
+    private final ContactCache contactCache = new ContactCache();
+
+    /**
+     * 流形求解器
+     */
+    private final ManifoldSolver manifoldSolver = new ManifoldSolver();
+
+    /**
+     * 穿透信息，每次检测复用
+     */
+    private final Penetration penetration = new Penetration();
+
+    /**
+     * NarrowPhase，默认使用SAT
+     */
+    private NarrowPhase narrowPhase = new SatNarrowPhase();
+
+    /**
+     * 性能统计，为null时不记录
+     */
+    private TickMetrics metrics;
+
+    private int integrateVelocityPhase;
+
+    private int velocityPhase;
+
+    private int integratePositionPhase;
+
+    private int positionPhase;
+
+    private int finishPhase;
+
+    public NarrowPhase getNarrowPhase() {
+        return narrowPhase;
+    }
+
+    /**
+     * 设置NarrowPhase，不同线程使用的探测器不能共用同一个NarrowPhase实例
+     *
+     * @param narrowPhase NarrowPhase
+     */
+    public void setNarrowPhase(NarrowPhase narrowPhase) {
+        this.narrowPhase = narrowPhase;
+    }
+
+    @Override
+    public void setMetrics(TickMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) {
+            this.integrateVelocityPhase = metrics.registerPhase("integrateVelocity");
+            this.velocityPhase = metrics.registerPhase("velocity");
+            this.integratePositionPhase = metrics.registerPhase("integratePosition");
+            this.positionPhase = metrics.registerPhase("position");
+            this.finishPhase = metrics.registerPhase("finish");
+        }
+    }
+
+    @Override
+    public void detect(List<PhysicsBody> bodies1, List<PhysicsBody> bodies2, List<CollisionFilter> filters, ContactBuffer contacts) {
+        for (int i = 0; i < bodies1.size(); i++) {
+            PhysicsBody body1 = bodies1.get(i);
+            for (int j = 0; j < bodies2.size(); j++) {
+                this.processDetect(body1, bodies2.get(j), filters, contacts);
+            }
+        }
+    }
+
+    @Override
+    public void detect(PairBuffer pairs, List<CollisionFilter> filters, ContactBuffer contacts) {
+        for (int i = 0; i < pairs.size(); i++) {
+            this.processDetect(pairs.getBody1(i), pairs.getBody2(i), filters, contacts);
+        }
+    }
+
+    /**
+     * <p>基础的带{@link CollisionFilter}的完整碰撞解析器</p>
+     * <p>含有BroadPhase和NarrowPhase，发生碰撞时将流形写入缓冲区</p>
+     *
+     * @param body1    物体1
+     * @param body2    物体2
+     * @param filters  碰撞过滤器
+     * @param contacts 碰撞检测结果
+     * @return 是否写入了流形
+     */
+    private boolean processDetect(PhysicsBody body1, PhysicsBody body2, List<CollisionFilter> filters, ContactBuffer contacts) {
+        AbstractShape shape1 = body1.getShape();
+        AbstractShape shape2 = body2.getShape();
+        // BroadPhase
+        for (int i = 0; i < filters.size(); i++) {
+            if (!filters.get(i).isAllowedBroadPhase(body1, body2)) return false;
+        }
+        if (!DetectorUtil.AABBDetect(shape1, shape2)) {
+            return false;
+        }
+        // NarrowPhase
+        for (int i = 0; i < filters.size(); i++) {
+            if (!filters.get(i).isAllowedNarrowPhase(body1, body2)) return false;
+        }
+        Penetration penetration = this.penetration;
+        DetectorResult detect = this.narrowPhase.detect(shape1, shape2, penetration);
+        if (!detect.isHasCollision()) {
+            return false;
+        }
+        // ManifoldSolver
+        for (int i = 0; i < filters.size(); i++) {
+            if (!filters.get(i).isAllowedManifold(body1, body2, detect.getApproximateShape(), penetration)) return false;
+        }
+        Manifold manifold = contacts.next();
+        if (!this.manifoldSolver.getManifold(penetration, shape1, shape2, detect.getApproximateShape(), manifold)) {
+            return false;
+        }
+        contacts.commit(body1, body2);
+        return true;
+    }
+
+    /**
+     * 使用跨tick的{@link ContactCache}生成接触约束，使求解器的热启动生效
+     */
+    @Override
+    public List<ContactConstraint> preLocalSolve(ContactBuffer contacts) {
+        return contactCache.update(contacts);
+    }
+
+    /**
+     * <p>非常基础的本地求解器</p>
+     * <p>处理管线较为简单，每个子步分为以下几步：</p>
+     * <p>1. 使用重力和引力更新速度和角速度</p>
+     * <p>2. 求解器为碰撞对更新速度和角速度</p>
+     * <p>3. 使用速度和角速度更新位置</p>
+     * <p>4. 求解器反向施加位置冲量防止内嵌</p>
+     * <p>子步数由求解器决定，{@link SequentialImpulses}只有一个子步。实际迭代次数可通过求解器获取</p>
+     */
+    @Override
+    public void LocalSolve(ConstraintSolver solver, Vector2 gravity, List<ContactConstraint> constraints, List<PhysicsBody> bodies) {
+        long start = TickMetrics.ENABLED ? System.nanoTime() : 0;
+        int substeps = solver.getSubsteps();
+        double elapsedTime = Settings.DEFAULT_TICK_FREQUENCY / substeps;
+        // 持续施加的力每个tick累积一次，所有子步使用相同的受力
+        for (PhysicsBody body : bodies) {
+            body.accumulate();
+        }
+        // 求解器的迭代次数在一个tick内累加，每个子步记录增量
+        int velocityIterations = 0;
+        int positionIterations = 0;
+        for (int i = 0; i < substeps; i++) {
+            for (PhysicsBody body : bodies) {
+                body.integrateVelocity(gravity, elapsedTime);
+            }
+            if (TickMetrics.ENABLED && metrics != null) {
+                start = metrics.record(integrateVelocityPhase, start, i == 0 ? bodies.size() : 0);
+            }
+            if (i == 0) {
+                solver.initialize(constraints);
+            }
+            solver.solveVelocity(constraints);
+            if (TickMetrics.ENABLED && metrics != null) {
+                start = metrics.record(velocityPhase, start, solver.getVelocityIterations() - velocityIterations);
+                velocityIterations = solver.getVelocityIterations();
+            }
+            for (PhysicsBody body : bodies) {
+                body.integratePosition(elapsedTime);
+            }
+            if (TickMetrics.ENABLED && metrics != null) {
+                start = metrics.record(integratePositionPhase, start, i == 0 ? bodies.size() : 0);
+            }
+            solver.solvePosition(constraints);
+            if (TickMetrics.ENABLED && metrics != null) {
+                start = metrics.record(positionPhase, start, solver.getPositionIterations() - positionIterations);
+                positionIterations = solver.getPositionIterations();
+            }
+        }
+        solver.finish(constraints);
+        for (PhysicsBody body : bodies) {
+            body.clearForce();
+        }
+        if (TickMetrics.ENABLED && metrics != null) {
+            metrics.record(finishPhase, start, constraints.size());
+        }
+    }
+
+}
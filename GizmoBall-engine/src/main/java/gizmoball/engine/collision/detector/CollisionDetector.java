@@ -0,0 +1,61 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.TickMetrics;
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ConstraintSolver;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.contact.ContactConstraint;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.List;
+
+public interface CollisionDetector {
+
+    /**
+     * 根据物体列表执行narrowPhase，将碰撞流形追加到缓冲区
+     *
+     * @param bodies1  物体列表1
+     * @param bodies2  物体列表2
+     * @param filters  碰撞过滤器列表
+     * @param contacts 碰撞检测结果
+     */
+    void detect(List<PhysicsBody> bodies1, List<PhysicsBody> bodies2, List<CollisionFilter> filters, ContactBuffer contacts);
+
+    /**
+     * 根据BroadPhase筛选出的候选碰撞对执行narrowPhase，将碰撞流形追加到缓冲区
+     *
+     * @param pairs    候选碰撞对
+     * @param filters  碰撞过滤器列表
+     * @param contacts 碰撞检测结果
+     */
+    void detect(PairBuffer pairs, List<CollisionFilter> filters, ContactBuffer contacts);
+
+    /**
+     * 本地求解前使用碰撞流形计算出接触约束
+     *
+     * @param contacts 碰撞检测结果
+     * @return List
+     */
+    List<ContactConstraint> preLocalSolve(ContactBuffer contacts);
+
+    /**
+     * 本地求解接触约束
+     *
+     * @param solver      约束求解器
+     * @param gravity     重力大小
+     * @param constraints 接触约束列表
+     * @param bodies      物体列表
+     */
+    void LocalSolve(ConstraintSolver solver, Vector2 gravity, List<ContactConstraint> constraints, List<PhysicsBody> bodies);
+
+    /**
+     * 设置性能统计，本地求解时记录各阶段的耗时
+     *
+     * @param metrics 性能统计
+     */
+    default void setMetrics(TickMetrics metrics) {
+    }
+
+}
@@ -0,0 +1,91 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.shape.*;
+
+/**
+ * <p>按两个图形的{@link ShapeKind}查表选择窄相检测方法</p>
+ * <p>圆形与圆形、矩形、三角形、扇形之间使用专门的检测方法，结果与{@link DetectorUtil#satDetect}一致；
+ * 其余组合使用{@link DetectorUtil#satDetect}</p>
+ */
+public class CollisionDispatcher {
+
+    /**
+     * 窄相检测方法，参数与{@link DetectorUtil#satDetect}一致
+     */
+    @FunctionalInterface
+    public interface Kernel {
+
+        /**
+         * 判断两个图形是否发生碰撞，发生碰撞时写入穿透信息
+         *
+         * @param shape1      待测图形
+         * @param shape2      待测图形
+         * @param shape       近似图形
+         * @param penetration 穿透信息
+         * @return DetectorResult
+         */
+        DetectorResult detect(AbstractShape shape1, AbstractShape shape2, AbstractShape shape, Penetration penetration);
+    }
+
+    /**
+     * 按[图形1种类][图形2种类]存放的检测方法
+     */
+    private static final Kernel[][] KERNELS;
+
+    static {
+        int size = ShapeKind.values().length;
+        KERNELS = new Kernel[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                KERNELS[i][j] = DetectorUtil::satDetect;
+            }
+        }
+        register(ShapeKind.CIRCLE, ShapeKind.CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.circleDetect((Circle) shape1, (Circle) shape2, shape, penetration));
+        register(ShapeKind.CIRCLE, ShapeKind.RECTANGLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.circleRectangleDetect((Circle) shape1, (Rectangle) shape2, shape, penetration, false));
+        register(ShapeKind.RECTANGLE, ShapeKind.CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.circleRectangleDetect((Circle) shape2, (Rectangle) shape1, shape, penetration, true));
+        register(ShapeKind.CIRCLE, ShapeKind.TRIANGLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.circleTriangleDetect((Circle) shape1, (Triangle) shape2, shape, penetration, false));
+        register(ShapeKind.TRIANGLE, ShapeKind.CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.circleTriangleDetect((Circle) shape2, (Triangle) shape1, shape, penetration, true));
+        register(ShapeKind.CIRCLE, ShapeKind.QUARTER_CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.quarterCircleDetect((QuarterCircle) shape2, (Circle) shape1, penetration, true));
+        register(ShapeKind.QUARTER_CIRCLE, ShapeKind.CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorUtil.quarterCircleDetect((QuarterCircle) shape1, (Circle) shape2, penetration, false));
+        // 不考虑扇形和扇形的碰撞
+        register(ShapeKind.QUARTER_CIRCLE, ShapeKind.QUARTER_CIRCLE,
+                (shape1, shape2, shape, penetration) -> DetectorResult.NO_COLLISION);
+    }
+
+    private static void register(ShapeKind kind1, ShapeKind kind2, Kernel kernel) {
+        KERNELS[kind1.ordinal()][kind2.ordinal()] = kernel;
+    }
+
+    /**
+     * 获取两种图形之间的检测方法
+     *
+     * @param kind1 图形1种类
+     * @param kind2 图形2种类
+     * @return Kernel
+     */
+    public static Kernel getKernel(ShapeKind kind1, ShapeKind kind2) {
+        return KERNELS[kind1.ordinal()][kind2.ordinal()];
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 按图形种类选择检测方法，判断两个{@link AbstractShape}是否发生碰撞
+     *
+     * @param shape1      待测图形
+     * @param shape2      待测图形
+     * @param shape       近似图形
+     * @param penetration 穿透信息
+     * @return DetectorResult
+     */
+    public static DetectorResult detect(AbstractShape shape1, AbstractShape shape2, AbstractShape shape, Penetration penetration) {
+        return KERNELS[shape1.getKind().ordinal()][shape2.getKind().ordinal()].detect(shape1, shape2, shape, penetration);
+    }
+}
@@ -0,0 +1,49 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.geometry.shape.AbstractShape;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>碰撞检测结果</p>
+ * <p>不可变，不带近似图形的结果使用共享实例，通过{@link #of(boolean, AbstractShape)}获取</p>
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class DetectorResult {
+
+    /**
+     * 是否发生碰撞
+     */
+    private final boolean hasCollision;
+
+    /**
+     * 近似图形（适用于扇形）
+     */
+    private final AbstractShape approximateShape;
+
+    /**
+     * 未发生碰撞的共享实例
+     */
+    public static final DetectorResult NO_COLLISION = new DetectorResult(false, null);
+
+    /**
+     * 发生碰撞且没有近似图形的共享实例
+     */
+    public static final DetectorResult COLLISION = new DetectorResult(true, null);
+
+    /**
+     * 获取检测结果，未发生碰撞或没有近似图形时返回共享实例
+     *
+     * @param hasCollision     是否发生碰撞
+     * @param approximateShape 近似图形
+     * @return DetectorResult
+     */
+    public static DetectorResult of(boolean hasCollision, AbstractShape approximateShape) {
+        if (!hasCollision) {
+            return NO_COLLISION;
+        }
+        return approximateShape == null ? COLLISION : new DetectorResult(true, approximateShape);
+    }
+}
@@ -0,0 +1,393 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.collision.Interval;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.*;
+
+/**
+ * 碰撞检测工具类
+ */
+public class DetectorUtil {
+
+    /**
+     * <p>使用于broadPhase</p>
+     * 判断两个{@link AbstractShape}的AABB是否发生碰撞
+     *
+     * @param shape1 待测图形
+     * @param shape2 待测图形
+     * @return boolean
+     */
+    public static boolean AABBDetect(AbstractShape shape1, AbstractShape shape2) {
+        AABB a = shape1.getAABB();
+        AABB b = shape2.getAABB();
+        return a.overlaps(b);
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 判断两个{@link Circle}是否发生碰撞
+     *
+     * @param circle1     待测圆
+     * @param circle2     待测圆
+     * @param shape       近似图形
+     * @param penetration 穿透信息
+     * @return DetectorResult
+     */
+    public static DetectorResult circleDetect(Circle circle1, Circle circle2, AbstractShape shape, Penetration penetration) {
+        Transform transform1 = circle1.getTransform();
+        Transform transform2 = circle2.getTransform();
+        // 圆心连线，与Vector2#to一致
+        double vx = transform2.x - transform1.x;
+        double vy = transform2.y - transform1.y;
+        double radii = circle1.getRadius() + circle2.getRadius();
+        double mag = vx * vx + vy * vy;
+        // 发生碰撞
+        if (mag < radii * radii) {
+            if (penetration != null) {
+                // 与Vector2#normalize一致，圆心重合时法线为零向量
+                double magnitude = Math.sqrt(mag);
+                if (magnitude <= Epsilon.E) {
+                    magnitude = 0;
+                } else {
+                    double m = 1.0 / magnitude;
+                    vx *= m;
+                    vy *= m;
+                }
+                penetration.setDepth(radii - magnitude);
+                penetration.getNormal().x = vx;
+                penetration.getNormal().y = vy;
+            }
+            return DetectorResult.of(true, shape);
+        }
+        return DetectorResult.of(false, shape);
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 判断{@link QuarterCircle}和{@link Circle}是否发生碰撞
+     * <p>扇形使用缓存的近似图形代替，只在扇形移动后重新创建</p>
+     *
+     * @param quarterCircle 扇形
+     * @param circle        圆形
+     * @param penetration   穿透信息
+     * @param isFlipped     参数是否发生翻转
+     * @return DetectorResult
+     */
+    public static DetectorResult quarterCircleDetect(QuarterCircle quarterCircle, Circle circle, Penetration penetration, boolean isFlipped) {
+        Transform transform2 = circle.getTransform();
+
+        Vector2[] worldVertices = quarterCircle.getWorldVertices();
+        Vector2 v0 = worldVertices[0];
+        Vector2 v1 = worldVertices[1];
+        Vector2 v2 = worldVertices[2];
+
+        // 两条半径和圆心连线，与Vector2#cross一致
+        double r1x = v0.x - v1.x;
+        double r1y = v0.y - v1.y;
+        double r2x = v2.x - v1.x;
+        double r2y = v2.y - v1.y;
+        double cx = transform2.x - v1.x;
+        double cy = transform2.y - v1.y;
+        double r1CrossC = r1x * cy - r1y * cx;
+        // 圆形在扇形的边之中，将扇形近似为圆形
+        if (r1CrossC * (cx * r2y - cy * r2x) >= 0 && r1CrossC * (r1x * r2y - r1y * r2x) >= 0) {
+            Circle circle1 = quarterCircle.getCircleProxy();
+            if (isFlipped) {
+                return circleDetect(circle, circle1, circle1, penetration);
+            }
+            return circleDetect(circle1, circle, circle1, penetration);
+        } else {
+            // 将扇形近似为多边形
+            Rectangle rectangle = quarterCircle.getRectangleProxy();
+            return circleRectangleDetect(circle, rectangle, rectangle, penetration, !isFlipped);
+        }
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 判断{@link Circle}和{@link Rectangle}是否发生碰撞
+     * <p>在矩形的局部坐标系中将圆心限制到矩形内求得最近点，最近点到圆心的方向即SAT的最小穿透轴，结果与{@link #satDetect}一致；
+     * 圆心位于矩形内或矩形在该轴上的投影被圆的投影包含时使用{@link #satDetect}</p>
+     *
+     * @param circle      圆形
+     * @param rectangle   矩形
+     * @param shape       近似图形
+     * @param penetration 穿透信息
+     * @param isFlipped   参数是否发生翻转，为true时矩形为第一个图形
+     * @return DetectorResult
+     */
+    public static DetectorResult circleRectangleDetect(Circle circle, Rectangle rectangle, AbstractShape shape, Penetration penetration, boolean isFlipped) {
+        Transform transform1 = rectangle.getTransform();
+        Transform transform2 = circle.getTransform();
+        double halfWidth = rectangle.getHalfWidth();
+        double halfHeight = rectangle.getHalfHeight();
+        double radius = circle.getRadius();
+        // 矩形中心到圆心，变换到矩形的局部坐标系
+        double dx = transform2.x - transform1.x;
+        double dy = transform2.y - transform1.y;
+        double lx = transform1.cost * dx + transform1.sint * dy;
+        double ly = -transform1.sint * dx + transform1.cost * dy;
+        if (Math.abs(lx) <= halfWidth && Math.abs(ly) <= halfHeight) {
+            return fallbackDetect(circle, rectangle, shape, penetration, isFlipped);
+        }
+        // 圆心到最近点，最近点在边上时为边的法线方向，在顶点上时为圆心到顶点的方向
+        double ax = Interval.sandwich(lx, -halfWidth, halfWidth) - lx;
+        double ay = Interval.sandwich(ly, -halfHeight, halfHeight) - ly;
+        double distanceSquared = ax * ax + ay * ay;
+        if (distanceSquared > radius * radius) {
+            return DetectorResult.NO_COLLISION;
+        }
+        double distance = Math.sqrt(distanceSquared);
+        ax /= distance;
+        ay /= distance;
+        // 矩形在轴上投影的最大值小于圆投影的最大值时，SAT会修正穿透深度
+        if (halfWidth * Math.abs(ax) + halfHeight * Math.abs(ay) < lx * ax + ly * ay + radius) {
+            return fallbackDetect(circle, rectangle, shape, penetration, isFlipped);
+        }
+        if (penetration != null) {
+            double nx = transform1.cost * ax - transform1.sint * ay;
+            double ny = transform1.sint * ax + transform1.cost * ay;
+            setPenetration(penetration, nx, ny, radius - distance, isFlipped ? dx : -dx, isFlipped ? dy : -dy);
+        }
+        return DetectorResult.of(true, shape);
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 判断{@link Circle}和{@link Triangle}是否发生碰撞
+     * <p>按圆心所在的Voronoi区域（顶点、边或内部）求得三角形上的最近点，最近点到圆心的方向即SAT的最小穿透轴，结果与{@link #satDetect}一致；
+     * 圆心位于三角形内或三角形在该轴上的投影被圆的投影包含时使用{@link #satDetect}</p>
+     *
+     * @param circle      圆形
+     * @param triangle    三角形
+     * @param shape       近似图形
+     * @param penetration 穿透信息
+     * @param isFlipped   参数是否发生翻转，为true时三角形为第一个图形
+     * @return DetectorResult
+     */
+    public static DetectorResult circleTriangleDetect(Circle circle, Triangle triangle, AbstractShape shape, Penetration penetration, boolean isFlipped) {
+        Vector2[] worldVertices = triangle.getWorldVertices();
+        Vector2 a = worldVertices[0];
+        Vector2 b = worldVertices[1];
+        Vector2 c = worldVertices[2];
+        Transform transform = circle.getTransform();
+        double px = transform.x;
+        double py = transform.y;
+        double abx = b.x - a.x;
+        double aby = b.y - a.y;
+        double acx = c.x - a.x;
+        double acy = c.y - a.y;
+        double qx;
+        double qy;
+        // 顶点a的区域
+        double d1 = abx * (px - a.x) + aby * (py - a.y);
+        double d2 = acx * (px - a.x) + acy * (py - a.y);
+        double d3 = abx * (px - b.x) + aby * (py - b.y);
+        double d4 = acx * (px - b.x) + acy * (py - b.y);
+        double d5 = abx * (px - c.x) + aby * (py - c.y);
+        double d6 = acx * (px - c.x) + acy * (py - c.y);
+        double va = d3 * d6 - d5 * d4;
+        double vb = d5 * d2 - d1 * d6;
+        double vc = d1 * d4 - d3 * d2;
+        if (d1 <= 0 && d2 <= 0) {
+            qx = a.x;
+            qy = a.y;
+        } else if (d3 >= 0 && d4 <= d3) {
+            // 顶点b的区域
+            qx = b.x;
+            qy = b.y;
+        } else if (d6 >= 0 && d5 <= d6) {
+            // 顶点c的区域
+            qx = c.x;
+            qy = c.y;
+        } else if (vc <= 0 && d1 >= 0 && d3 <= 0) {
+            // 边ab的区域
+            double t = d1 / (d1 - d3);
+            qx = a.x + t * abx;
+            qy = a.y + t * aby;
+        } else if (vb <= 0 && d2 >= 0 && d6 <= 0) {
+            // 边ac的区域
+            double t = d2 / (d2 - d6);
+            qx = a.x + t * acx;
+            qy = a.y + t * acy;
+        } else if (va <= 0 && d4 - d3 >= 0 && d5 - d6 >= 0) {
+            // 边bc的区域
+            double t = (d4 - d3) / ((d4 - d3) + (d5 - d6));
+            qx = b.x + t * (c.x - b.x);
+            qy = b.y + t * (c.y - b.y);
+        } else {
+            // 圆心位于三角形内
+            return fallbackDetect(circle, triangle, shape, penetration, isFlipped);
+        }
+        double ax = qx - px;
+        double ay = qy - py;
+        double distanceSquared = ax * ax + ay * ay;
+        double radius = circle.getRadius();
+        if (distanceSquared > radius * radius) {
+            return DetectorResult.NO_COLLISION;
+        }
+        if (distanceSquared == 0) {
+            // 圆心位于三角形的边上
+            return fallbackDetect(circle, triangle, shape, penetration, isFlipped);
+        }
+        double distance = Math.sqrt(distanceSquared);
+        ax /= distance;
+        ay /= distance;
+        double max = Math.max(a.x * ax + a.y * ay, Math.max(b.x * ax + b.y * ay, c.x * ax + c.y * ay));
+        if (max < px * ax + py * ay + radius) {
+            return fallbackDetect(circle, triangle, shape, penetration, isFlipped);
+        }
+        if (penetration != null) {
+            // 与SAT一致，使用Transform的位置作为图形中心
+            Transform transform1 = triangle.getTransform();
+            double dx = px - transform1.x;
+            double dy = py - transform1.y;
+            setPenetration(penetration, ax, ay, radius - distance, isFlipped ? dx : -dx, isFlipped ? dy : -dy);
+        }
+        return DetectorResult.of(true, shape);
+    }
+
+    /**
+     * 写入穿透信息，与SAT一致，法线方向与第一个图形中心指向第二个图形中心的向量同向
+     *
+     * @param penetration 穿透信息
+     * @param axisX       穿透轴x
+     * @param axisY       穿透轴y
+     * @param depth       穿透深度
+     * @param cTocX       第一个图形中心指向第二个图形中心的向量x
+     * @param cTocY       第一个图形中心指向第二个图形中心的向量y
+     */
+    private static void setPenetration(Penetration penetration, double axisX, double axisY, double depth, double cTocX, double cTocY) {
+        double sign = cTocX * axisX + cTocY * axisY < 0 ? -1 : 1;
+        penetration.getNormal().x = sign * axisX;
+        penetration.getNormal().y = sign * axisY;
+        penetration.setDepth(depth);
+    }
+
+    /**
+     * 闭式解不适用时按原顺序使用{@link #satDetect}
+     */
+    private static DetectorResult fallbackDetect(Circle circle, Polygon polygon, AbstractShape shape, Penetration penetration, boolean isFlipped) {
+        if (isFlipped) {
+            return satDetect(polygon, circle, shape, penetration);
+        }
+        return satDetect(circle, polygon, shape, penetration);
+    }
+
+    /**
+     * <p>使用于narrowPhase</p>
+     * 使用SAT算法判断两个{@link AbstractShape}是否发生碰撞
+     *
+     * @param shape1      待测图形
+     * @param shape2      待测图形
+     * @param shape       近似图形
+     * @param penetration 穿透信息
+     * @return DetectorResult
+     */
+    public static DetectorResult satDetect(AbstractShape shape1, AbstractShape shape2, AbstractShape shape, Penetration penetration) {
+        if (shape1 instanceof QuarterCircle && shape2 instanceof QuarterCircle) {
+            // 不考虑扇形和扇形的碰撞
+            return DetectorResult.NO_COLLISION;
+        }
+        if (shape1 instanceof Circle && shape2 instanceof Circle) {
+            // 圆形和圆形碰撞
+            return circleDetect((Circle) shape1, (Circle) shape2, shape, penetration);
+        } else if (shape1 instanceof Circle && shape2 instanceof QuarterCircle) {
+            // 圆形和扇形碰撞
+            return quarterCircleDetect((QuarterCircle) shape2, (Circle) shape1, penetration, true);
+        } else if (shape2 instanceof Circle && shape1 instanceof QuarterCircle) {
+            // 扇形和圆形碰撞
+            return quarterCircleDetect((QuarterCircle) shape1, (Circle) shape2, penetration, false);
+        } else if (shape1 instanceof QuarterCircle) {
+            // 扇形和多边形碰撞
+            Polygon polygon = ((QuarterCircle) shape1).getPolygonProxy();
+            return satDetect(polygon, shape2, polygon, penetration);
+        } else if (shape2 instanceof QuarterCircle) {
+            // 多边形和扇形碰撞
+            Polygon polygon = ((QuarterCircle) shape2).getPolygonProxy();
+            return satDetect(shape1, polygon, polygon, penetration);
+        }
+        // 多边形（圆）和多边形（圆）碰撞
+        Vector2[] foci1 = shape1.getFoci();
+        Vector2[] foci2 = shape2.getFoci();
+
+        Vector2[] axes1 = shape1.getAxes(foci2);
+        Vector2[] axes2 = shape2.getAxes(foci1);
+
+        Vector2 currentAxis = null;
+        double minOverlap = Double.MAX_VALUE;
+
+        if (axes1 != null) {
+            for (Vector2 axis : axes1) {
+                if (axis.isZero()) continue;
+                // 投影获得分隔
+                Interval intervalA = shape1.project(axis);
+                Interval intervalB = shape2.project(axis);
+                if (!intervalA.overlaps(intervalB)) {
+                    return DetectorResult.of(false, shape);
+                } else {
+                    double overlap = intervalA.getOverlap(intervalB);
+                    // 如果分隔存在包含关系
+                    if (intervalA.containsExclusive(intervalB) || intervalB.containsExclusive(intervalA)) {
+                        double max = Math.abs(intervalA.getMax() - intervalB.getMax());
+                        double min = Math.abs(intervalA.getMin() - intervalB.getMin());
+                        // 穿透深度为被包含图形的投影长度加上离外层图形的最近投影长度和
+                        if (max > min) {
+                            // max位于axis的正方向，如果max>min意味着向着负方向移动能更快的分离图形
+                            // 所以为了保持分离向量的正方向，需要反转向量
+                            // axis可能是形状缓存的法向量，不能原地修改
+                            axis = axis.getNegative();
+                            overlap += min;
+                        } else {
+                            overlap += max;
+                        }
+                    }
+                    if (overlap < minOverlap) {
+                        minOverlap = overlap;
+                        currentAxis = axis;
+                    }
+                }
+            }
+        }
+        // 同上代码
+        if (axes2 != null) {
+            for (Vector2 axis : axes2) {
+                if (axis.isZero()) continue;
+                Interval intervalA = shape1.project(axis);
+                Interval intervalB = shape2.project(axis);
+                if (!intervalA.overlaps(intervalB)) {
+                    return DetectorResult.of(false, shape);
+                } else {
+                    double overlap = intervalA.getOverlap(intervalB);
+                    if (intervalA.containsExclusive(intervalB) || intervalB.containsExclusive(intervalA)) {
+                        double max = Math.abs(intervalA.getMax() - intervalB.getMax());
+                        double min = Math.abs(intervalA.getMin() - intervalB.getMin());
+                        if (max > min) {
+                            axis = axis.getNegative();
+                            overlap += min;
+                        } else {
+                            overlap += max;
+                        }
+                    }
+                    if (overlap < minOverlap) {
+                        minOverlap = overlap;
+                        currentAxis = axis;
+                    }
+                }
+            }
+        }
+
+        Vector2 center1 = new Vector2(shape1.getTransform().getX(), shape1.getTransform().getY());
+        Vector2 center2 = new Vector2(shape2.getTransform().getX(), shape2.getTransform().getY());
+        Vector2 cToc = center1.to(center2);
+        double sign = cToc.dot(currentAxis) < 0 ? -1 : 1;
+        penetration.getNormal().x = sign * currentAxis.x;
+        penetration.getNormal().y = sign * currentAxis.y;
+        penetration.setDepth(minOverlap);
+        return DetectorResult.of(true, shape);
+    }
+}
@@ -0,0 +1,276 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.geometry.shape.Circle;
+import gizmoball.engine.geometry.shape.QuarterCircle;
+
+import java.util.Arrays;
+
+/**
+ * <p>使用GJK判断是否碰撞、EPA计算穿透信息的NarrowPhase</p>
+ * <p>只依赖各图形的{@link AbstractShape#getFarthestPoint(Vector2)}，不需要生成分离轴和投影，
+ * 扇形也直接按其真实形状检测，不再近似为圆形或多边形</p>
+ * <p>GJK在两个图形的Minkowski差上迭代单纯形，判断原点是否在其中；EPA从GJK得到的三角形开始扩展多边形，
+ * 直到找到距离原点最近的边，其法线和距离即为穿透法线和深度</p>
+ * <p>圆形和圆形之间直接使用{@link DetectorUtil#circleDetect}。单纯形和多边形保存在复用的数组中，实例不是线程安全的</p>
+ */
+public class GjkNarrowPhase implements NarrowPhase {
+
+    /**
+     * 单纯形顶点，最多3个
+     */
+    private final double[] simplexX = new double[3];
+
+    private final double[] simplexY = new double[3];
+
+    private int simplexSize;
+
+    /**
+     * 下一次的搜索方向
+     */
+    private final Vector2 direction = new Vector2();
+
+    /**
+     * EPA扩展的多边形顶点
+     */
+    private double[] polytopeX = new double[16];
+
+    private double[] polytopeY = new double[16];
+
+    private int polytopeSize;
+
+    /**
+     * 最近一次求得的Minkowski差上的支撑点
+     */
+    private double supportX;
+
+    private double supportY;
+
+    @Override
+    public DetectorResult detect(AbstractShape shape1, AbstractShape shape2, Penetration penetration) {
+        if (shape1 instanceof QuarterCircle && shape2 instanceof QuarterCircle) {
+            // 与SAT一致，不考虑扇形和扇形的碰撞
+            return DetectorResult.NO_COLLISION;
+        }
+        if (shape1 instanceof Circle && shape2 instanceof Circle) {
+            return DetectorUtil.circleDetect((Circle) shape1, (Circle) shape2, null, penetration);
+        }
+        if (!this.intersects(shape1, shape2)) {
+            return DetectorResult.NO_COLLISION;
+        }
+        if (penetration != null) {
+            this.expand(shape1, shape2, penetration);
+        }
+        return DetectorResult.COLLISION;
+    }
+
+    /**
+     * GJK，判断Minkowski差是否包含原点，包含时单纯形为包含原点的三角形
+     *
+     * @param shape1 待测图形
+     * @param shape2 待测图形
+     * @return boolean
+     */
+    private boolean intersects(AbstractShape shape1, AbstractShape shape2) {
+        this.simplexSize = 0;
+        // 初始方向为两个图形中心的连线
+        Vector2 d = this.direction;
+        d.x = shape2.getTransform().x - shape1.getTransform().x;
+        d.y = shape2.getTransform().y - shape1.getTransform().y;
+        if (d.isZero()) {
+            d.x = 1;
+            d.y = 0;
+        }
+        this.support(shape1, shape2, d);
+        this.push(this.supportX, this.supportY);
+        if (this.supportX * d.x + this.supportY * d.y <= 0) {
+            return false;
+        }
+        d.x = -this.supportX;
+        d.y = -this.supportY;
+        for (int i = 0; i < Settings.DEFAULT_GJK_MAXIMUM_ITERATIONS; i++) {
+            if (d.isZero()) {
+                // 原点位于单纯形上，视为刚好接触
+                return false;
+            }
+            this.support(shape1, shape2, d);
+            // 新的支撑点没有越过原点，Minkowski差不可能包含原点
+            if (this.supportX * d.x + this.supportY * d.y <= 0) {
+                return false;
+            }
+            this.push(this.supportX, this.supportY);
+            if (this.containsOrigin(d)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断单纯形是否包含原点，不包含时去掉无用的顶点并更新搜索方向
+     *
+     * @param d 搜索方向
+     * @return boolean
+     */
+    private boolean containsOrigin(Vector2 d) {
+        int last = this.simplexSize - 1;
+        double ax = this.simplexX[last];
+        double ay = this.simplexY[last];
+        if (this.simplexSize == 3) {
+            double abx = this.simplexX[1] - ax;
+            double aby = this.simplexY[1] - ay;
+            double acx = this.simplexX[0] - ax;
+            double acy = this.simplexY[0] - ay;
+            // ac边远离b一侧的法线
+            double acPerpX = tripleProductX(abx, aby, acx, acy, acx, acy);
+            double acPerpY = tripleProductY(abx, aby, acx, acy, acx, acy);
+            if (-(acPerpX * ax + acPerpY * ay) >= 0) {
+                // 原点在ac外侧，去掉b
+                this.remove(1);
+                d.x = acPerpX;
+                d.y = acPerpY;
+                return false;
+            }
+            // ab边远离c一侧的法线
+            double abPerpX = tripleProductX(acx, acy, abx, aby, abx, aby);
+            double abPerpY = tripleProductY(acx, acy, abx, aby, abx, aby);
+            if (-(abPerpX * ax + abPerpY * ay) < 0) {
+                return true;
+            }
+            // 原点在ab外侧，去掉c
+            this.remove(0);
+            d.x = abPerpX;
+            d.y = abPerpY;
+            return false;
+        }
+        // 线段，搜索方向为线段指向原点一侧的法线
+        double abx = this.simplexX[0] - ax;
+        double aby = this.simplexY[0] - ay;
+        d.x = tripleProductX(abx, aby, -ax, -ay, abx, aby);
+        d.y = tripleProductY(abx, aby, -ax, -ay, abx, aby);
+        if (d.isZero()) {
+            d.x = -aby;
+            d.y = abx;
+        }
+        return false;
+    }
+
+    /**
+     * EPA，从GJK得到的三角形开始扩展，求穿透法线和深度
+     *
+     * @param shape1      待测图形
+     * @param shape2      待测图形
+     * @param penetration 穿透信息
+     */
+    private void expand(AbstractShape shape1, AbstractShape shape2, Penetration penetration) {
+        this.polytopeSize = 0;
+        for (int i = 0; i < this.simplexSize; i++) {
+            this.insert(this.polytopeSize, this.simplexX[i], this.simplexY[i]);
+        }
+        // 多边形的绕向，决定边的外法线方向
+        double winding = (this.polytopeX[1] - this.polytopeX[0]) * (this.polytopeY[2] - this.polytopeY[1]) -
+                (this.polytopeY[1] - this.polytopeY[0]) * (this.polytopeX[2] - this.polytopeX[1]);
+        boolean clockwise = winding < 0;
+
+        Vector2 normal = this.direction;
+        double depth = 0;
+        for (int iteration = 0; iteration < Settings.DEFAULT_EPA_MAXIMUM_ITERATIONS; iteration++) {
+            // 查找距离原点最近的边
+            int closest = 0;
+            double minDistance = Double.MAX_VALUE;
+            double normalX = 0;
+            double normalY = 0;
+            for (int i = 0; i < this.polytopeSize; i++) {
+                int j = i + 1 == this.polytopeSize ? 0 : i + 1;
+                double ex = this.polytopeX[j] - this.polytopeX[i];
+                double ey = this.polytopeY[j] - this.polytopeY[i];
+                double nx = clockwise ? -ey : ey;
+                double ny = clockwise ? ex : -ex;
+                double length = Math.sqrt(nx * nx + ny * ny);
+                if (length == 0) {
+                    continue;
+                }
+                nx /= length;
+                ny /= length;
+                double distance = nx * this.polytopeX[i] + ny * this.polytopeY[i];
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    closest = j;
+                    normalX = nx;
+                    normalY = ny;
+                }
+            }
+            normal.x = normalX;
+            normal.y = normalY;
+            depth = minDistance;
+            this.support(shape1, shape2, normal);
+            double projection = this.supportX * normalX + this.supportY * normalY;
+            if (projection - minDistance < Settings.DEFAULT_EPA_TOLERANCE) {
+                depth = projection;
+                break;
+            }
+            // 在最近边的两个顶点之间插入新的支撑点
+            this.insert(closest, this.supportX, this.supportY);
+        }
+        penetration.getNormal().x = normal.x;
+        penetration.getNormal().y = normal.y;
+        penetration.setDepth(depth);
+    }
+
+    /**
+     * 求Minkowski差shape1 - shape2在给定方向上的支撑点，结果保存在{@link #supportX}、{@link #supportY}
+     *
+     * @param shape1 图形1
+     * @param shape2 图形2
+     * @param d      方向
+     */
+    private void support(AbstractShape shape1, AbstractShape shape2, Vector2 d) {
+        Vector2 point1 = shape1.getFarthestPoint(d);
+        Vector2 point2 = shape2.getFarthestPoint(d.getNegative());
+        this.supportX = point1.x - point2.x;
+        this.supportY = point1.y - point2.y;
+    }
+
+    private void push(double x, double y) {
+        this.simplexX[this.simplexSize] = x;
+        this.simplexY[this.simplexSize] = y;
+        this.simplexSize++;
+    }
+
+    private void remove(int index) {
+        for (int i = index; i < this.simplexSize - 1; i++) {
+            this.simplexX[i] = this.simplexX[i + 1];
+            this.simplexY[i] = this.simplexY[i + 1];
+        }
+        this.simplexSize--;
+    }
+
+    private void insert(int index, double x, double y) {
+        if (this.polytopeSize == this.polytopeX.length) {
+            this.polytopeX = Arrays.copyOf(this.polytopeX, this.polytopeSize * 2);
+            this.polytopeY = Arrays.copyOf(this.polytopeY, this.polytopeSize * 2);
+        }
+        System.arraycopy(this.polytopeX, index, this.polytopeX, index + 1, this.polytopeSize - index);
+        System.arraycopy(this.polytopeY, index, this.polytopeY, index + 1, this.polytopeSize - index);
+        this.polytopeX[index] = x;
+        this.polytopeY[index] = y;
+        this.polytopeSize++;
+    }
+
+    /**
+     * 向量三重积(a × b) × c = b(a·c) - a(b·c)的x分量
+     */
+    private static double tripleProductX(double ax, double ay, double bx, double by, double cx, double cy) {
+        return bx * (ax * cx + ay * cy) - ax * (bx * cx + by * cy);
+    }
+
+    /**
+     * 向量三重积(a × b) × c = b(a·c) - a(b·c)的y分量
+     */
+    private static double tripleProductY(double ax, double ay, double bx, double by, double cx, double cy) {
+        return by * (ax * cx + ay * cy) - ay * (bx * cx + by * cy);
+    }
+}
@@ -0,0 +1,21 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.shape.AbstractShape;
+
+/**
+ * <p>NarrowPhase接口，精确判断两个图形是否发生碰撞并计算穿透信息</p>
+ * <p>实现类可以保存检测过程中复用的临时数据，因此不保证线程安全，并行检测时每个线程应使用单独的实例</p>
+ */
+public interface NarrowPhase {
+
+    /**
+     * 判断两个图形是否发生碰撞
+     *
+     * @param shape1      待测图形
+     * @param shape2      待测图形
+     * @param penetration 穿透信息，法线由shape1指向shape2
+     * @return DetectorResult
+     */
+    DetectorResult detect(AbstractShape shape1, AbstractShape shape2, Penetration penetration);
+}
@@ -0,0 +1,16 @@
+package gizmoball.engine.collision.detector;
+
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.shape.AbstractShape;
+
+/**
+ * <p>以{@link DetectorUtil#satDetect}为准的NarrowPhase，扇形近似为圆形或多边形</p>
+ * <p>经{@link CollisionDispatcher}按图形种类分派，圆形与矩形、三角形等组合使用结果一致的闭式解</p>
+ */
+public class SatNarrowPhase implements NarrowPhase {
+
+    @Override
+    public DetectorResult detect(AbstractShape shape1, AbstractShape shape2, Penetration penetration) {
+        return CollisionDispatcher.detect(shape1, shape2, null, penetration);
+    }
+}
@@ -0,0 +1,70 @@
+package gizmoball.engine.collision.manifold;
+
+import gizmoball.engine.geometry.Vector2;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>多个碰撞点组成的流形</p>
+ * <p>流形可以通过{@link #clear()}复用，碰撞点对象保存在池中，不会重复创建</p>
+ */
+@Data
+public class Manifold {
+
+    /**
+     * 碰撞点列表
+     */
+    private List<ManifoldPoint> points;
+
+    /**
+     * 分离法线的反向量
+     */
+    private Vector2 normal;
+
+    /**
+     * 创建过的碰撞点，{@link #clear()}后按顺序复用
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final List<ManifoldPoint> pointPool;
+
+    public Manifold() {
+        this.points = new ArrayList<>(2);
+        this.normal = new Vector2();
+        this.pointPool = new ArrayList<>(2);
+    }
+
+    /**
+     * 添加碰撞点，复制给定点的坐标，不保留其引用
+     *
+     * @param point 点的坐标
+     * @param depth 穿透深度
+     */
+    public void addPoint(Vector2 point, double depth) {
+        int index = this.points.size();
+        ManifoldPoint manifoldPoint;
+        if (index < this.pointPool.size()) {
+            manifoldPoint = this.pointPool.get(index);
+            manifoldPoint.getPoint().x = point.x;
+            manifoldPoint.getPoint().y = point.y;
+            manifoldPoint.setDepth(depth);
+        } else {
+            manifoldPoint = new ManifoldPoint(point.copy(), depth);
+            this.pointPool.add(manifoldPoint);
+        }
+        this.points.add(manifoldPoint);
+    }
+
+    /**
+     * 清空碰撞点和法线
+     */
+    public void clear() {
+        this.points.clear();
+        this.normal.x = 0;
+        this.normal.y = 0;
+    }
+}
@@ -20,7 +20,7 @@ public class ManifoldSolver {
      * @param shape1      被碰撞图形
      * @param shape2      碰撞图形
      * @param shape       近似图形
-     * @param manifold    碰撞点信息
+     * @param manifold    碰撞点信息，调用方负责清空
      * @return boolean
      */
     public boolean getManifold(Penetration penetration, AbstractShape shape1, AbstractShape shape2, AbstractShape shape, Manifold manifold) {
@@ -36,8 +36,7 @@ public class ManifoldSolver {
         Vector2 vertex = shape1.getFarthestFeature(n);
 
         if (vertex != null) {
-            ManifoldPoint mp = new ManifoldPoint(vertex, penetration.getDepth());
-            manifold.getPoints().add(mp);
+            manifold.addPoint(vertex, penetration.getDepth());
             manifold.getNormal().x = -n.x;
             manifold.getNormal().y = -n.y;
             return true;
@@ -46,8 +45,7 @@ public class ManifoldSolver {
         Vector2 ne = n.getNegative();
         Vector2 vertex2 = shape2.getFarthestFeature(ne);
         if (vertex2 != null) {
-            ManifoldPoint mp = new ManifoldPoint(vertex2, penetration.getDepth());
-            manifold.getPoints().add(mp);
+            manifold.addPoint(vertex2, penetration.getDepth());
             manifold.getNormal().x = ne.x;
             manifold.getNormal().y = ne.y;
             return true;
@@ -0,0 +1,249 @@
+package gizmoball.engine.frame;
+
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>某一tick结束时所有物体的渲染状态</p>
+ * <p>位置、旋转和速度保存在并行的基本类型数组中，第i项对应{@link #getBody(int)}返回的物体，
+ * 渲染线程只读取快照而不读取物体的{@link Transform}，避免与模拟线程竞争</p>
+ * <p>快照同时保存上一个发布的快照的位置和旋转，渲染线程跳过中间的快照时仍然在相邻两次发布的状态之间插值</p>
+ * <p>快照对象通过{@link TripleBuffer}复用，发布后直到再次被写线程取得之前不会被修改</p>
+ */
+public class FrameSnapshot {
+
+    /**
+     * 快照对应的tick序号
+     */
+    private long tick;
+
+    /**
+     * 快照发布时的{@link System#nanoTime()}
+     */
+    private long time;
+
+    /**
+     * 快照中的物体数
+     */
+    private int size;
+
+    private PhysicsBody[] bodies = new PhysicsBody[0];
+
+    private double[] x = new double[0];
+
+    private double[] y = new double[0];
+
+    private double[] cost = new double[0];
+
+    private double[] sint = new double[0];
+
+    private double[] vx = new double[0];
+
+    private double[] vy = new double[0];
+
+    private double[] angularVelocity = new double[0];
+
+    /**
+     * 上一个发布的快照的发布时间和物体数，没有上一个快照时物体数为0
+     */
+    private long previousTime;
+
+    private int previousSize;
+
+    private PhysicsBody[] previousBodies = new PhysicsBody[0];
+
+    private double[] previousX = new double[0];
+
+    private double[] previousY = new double[0];
+
+    private double[] previousCost = new double[0];
+
+    private double[] previousSint = new double[0];
+
+    /**
+     * 记录物体当前的状态，并记录上一个发布的快照的状态用于插值
+     *
+     * @param bodies   物体列表
+     * @param tick     tick序号
+     * @param time     发布时间
+     * @param previous 上一个发布的快照，只读取其当前状态，{@link #getTick()}为0时表示没有上一个快照
+     */
+    public void capture(List<? extends PhysicsBody> bodies, long tick, long time, FrameSnapshot previous) {
+        this.capturePrevious(previous);
+        int size = bodies.size();
+        this.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            PhysicsBody body = bodies.get(i);
+            Transform transform = body.getShape().getTransform();
+            Vector2 linearVelocity = body.getLinearVelocity();
+            this.bodies[i] = body;
+            this.x[i] = transform.x;
+            this.y[i] = transform.y;
+            this.cost[i] = transform.cost;
+            this.sint[i] = transform.sint;
+            this.vx[i] = linearVelocity.x;
+            this.vy[i] = linearVelocity.y;
+            this.angularVelocity[i] = body.getAngularVelocity();
+        }
+        // 释放上一次多出的物体引用
+        Arrays.fill(this.bodies, size, this.size > size ? this.size : size, null);
+        this.size = size;
+        this.tick = tick;
+        this.time = time;
+    }
+
+    /**
+     * 复制另一个快照的当前状态，不复制其上一个快照的状态
+     *
+     * @param other 快照
+     */
+    public void copyFrom(FrameSnapshot other) {
+        int size = other.size;
+        this.ensureCapacity(size);
+        System.arraycopy(other.bodies, 0, this.bodies, 0, size);
+        System.arraycopy(other.x, 0, this.x, 0, size);
+        System.arraycopy(other.y, 0, this.y, 0, size);
+        System.arraycopy(other.cost, 0, this.cost, 0, size);
+        System.arraycopy(other.sint, 0, this.sint, 0, size);
+        System.arraycopy(other.vx, 0, this.vx, 0, size);
+        System.arraycopy(other.vy, 0, this.vy, 0, size);
+        System.arraycopy(other.angularVelocity, 0, this.angularVelocity, 0, size);
+        Arrays.fill(this.bodies, size, this.size > size ? this.size : size, null);
+        this.size = size;
+        this.tick = other.tick;
+        this.time = other.time;
+    }
+
+    /**
+     * 清空快照，使下一个以本快照为上一个快照的快照不插值
+     */
+    public void clear() {
+        Arrays.fill(this.bodies, 0, this.size, null);
+        this.size = 0;
+        this.tick = 0;
+        this.time = 0;
+    }
+
+    private void capturePrevious(FrameSnapshot previous) {
+        int size = previous.tick == 0 ? 0 : previous.size;
+        if (this.previousBodies.length < size) {
+            int capacity = Math.max(size, this.previousBodies.length * 2);
+            this.previousBodies = new PhysicsBody[capacity];
+            this.previousX = new double[capacity];
+            this.previousY = new double[capacity];
+            this.previousCost = new double[capacity];
+            this.previousSint = new double[capacity];
+        }
+        System.arraycopy(previous.bodies, 0, this.previousBodies, 0, size);
+        System.arraycopy(previous.x, 0, this.previousX, 0, size);
+        System.arraycopy(previous.y, 0, this.previousY, 0, size);
+        System.arraycopy(previous.cost, 0, this.previousCost, 0, size);
+        System.arraycopy(previous.sint, 0, this.previousSint, 0, size);
+        Arrays.fill(this.previousBodies, size, this.previousSize > size ? this.previousSize : size, null);
+        this.previousSize = size;
+        this.previousTime = previous.time;
+    }
+
+    /**
+     * <p>在上一个发布的快照和本快照之间插值第i个物体的变换</p>
+     * <p>没有上一个快照，或上一个快照的第i项不是同一个物体时（如物体被删除）不插值，直接使用本快照的状态</p>
+     *
+     * @param i     物体下标
+     * @param alpha 插值系数，0为上一个快照，1为本快照
+     * @param out   结果
+     */
+    public void interpolate(int i, double alpha, Transform out) {
+        if (alpha >= 1 || i >= this.previousSize || this.previousBodies[i] != this.bodies[i]) {
+            out.x = this.x[i];
+            out.y = this.y[i];
+            out.cost = this.cost[i];
+            out.sint = this.sint[i];
+        } else {
+            double beta = 1 - alpha;
+            out.x = this.previousX[i] * beta + this.x[i] * alpha;
+            out.y = this.previousY[i] * beta + this.y[i] * alpha;
+            double cost = this.previousCost[i] * beta + this.cost[i] * alpha;
+            double sint = this.previousSint[i] * beta + this.sint[i] * alpha;
+            double length = Math.sqrt(cost * cost + sint * sint);
+            if (length > 0) {
+                out.cost = cost / length;
+                out.sint = sint / length;
+            } else {
+                out.cost = this.cost[i];
+                out.sint = this.sint[i];
+            }
+        }
+        out.markModified();
+    }
+
+    private void ensureCapacity(int size) {
+        if (this.bodies.length < size) {
+            int capacity = Math.max(size, this.bodies.length * 2);
+            this.bodies = Arrays.copyOf(this.bodies, capacity);
+            this.x = new double[capacity];
+            this.y = new double[capacity];
+            this.cost = new double[capacity];
+            this.sint = new double[capacity];
+            this.vx = new double[capacity];
+            this.vy = new double[capacity];
+            this.angularVelocity = new double[capacity];
+        }
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * 上一个发布的快照的发布时间，没有上一个快照时为0
+     *
+     * @return long
+     */
+    public long getPreviousTime() {
+        return previousSize == 0 ? 0 : previousTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PhysicsBody getBody(int i) {
+        return bodies[i];
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getCost(int i) {
+        return cost[i];
+    }
+
+    public double getSint(int i) {
+        return sint[i];
+    }
+
+    public double getVelocityX(int i) {
+        return vx[i];
+    }
+
+    public double getVelocityY(int i) {
+        return vy[i];
+    }
+
+    public double getAngularVelocity(int i) {
+        return angularVelocity[i];
+    }
+}
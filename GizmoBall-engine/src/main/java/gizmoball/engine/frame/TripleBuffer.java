@@ -0,0 +1,87 @@
+package gizmoball.engine.frame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>单写单读的无锁三缓冲</p>
+ * <p>写线程写入后缓冲并发布，读线程总是读取最新发布的缓冲，两者各自独占一个缓冲，第三个缓冲用于交换，
+ * 因此写线程不会等待读线程，读线程落后时中间的帧会被直接覆盖而不会堆积</p>
+ * <p>缓冲在被读线程通过{@link #read()}取得后、下一次{@link #read()}之前不会被写线程修改</p>
+ *
+ * @param <T> 缓冲类型
+ */
+public class TripleBuffer<T> {
+
+    /**
+     * 交换缓冲下标的掩码
+     */
+    private static final int INDEX_MASK = 0b11;
+
+    /**
+     * 交换缓冲中有未读取的新数据
+     */
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers;
+
+    /**
+     * 交换缓冲的下标和是否有新数据
+     */
+    private final AtomicInteger middle;
+
+    /**
+     * 写线程独占的缓冲下标
+     */
+    private int back;
+
+    /**
+     * 读线程独占的缓冲下标
+     */
+    private int front;
+
+    public TripleBuffer(T front, T middle, T back) {
+        this.buffers = new Object[]{front, middle, back};
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * 获取写线程独占的缓冲，写入后调用{@link #publish()}发布
+     *
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) this.buffers[this.back];
+    }
+
+    /**
+     * 发布写线程的缓冲，并换得一个新的缓冲用于下一次写入
+     */
+    public void publish() {
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * 是否有尚未读取的新发布缓冲
+     *
+     * @return boolean
+     */
+    public boolean hasUpdate() {
+        return (this.middle.get() & FRESH) != 0;
+    }
+
+    /**
+     * 获取最新发布的缓冲，没有新发布时返回上一次读取的缓冲
+     *
+     * @return T
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if (this.hasUpdate()) {
+            this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+        }
+        return (T) this.buffers[this.front];
+    }
+}
@@ -58,4 +58,50 @@ public class AABB {
     public void translate(Vector2 vector2) {
         this.translate(vector2.x, vector2.y);
     }
+
+    /**
+     * 判断是否完全包含给定AABB
+     *
+     * @param aabb AABB
+     * @return boolean
+     */
+    public boolean contains(AABB aabb) {
+        return this.minX <= aabb.minX &&
+                this.maxX >= aabb.maxX &&
+                this.minY <= aabb.minY &&
+                this.maxY >= aabb.maxY;
+    }
+
+    /**
+     * 向四周扩展给定距离
+     *
+     * @param expansion 扩展距离
+     */
+    public void expand(double expansion) {
+        this.minX -= expansion;
+        this.minY -= expansion;
+        this.maxX += expansion;
+        this.maxY += expansion;
+    }
+
+    /**
+     * 合并给定AABB，结果为同时包含两者的最小AABB
+     *
+     * @param aabb AABB
+     */
+    public void union(AABB aabb) {
+        this.minX = Math.min(this.minX, aabb.minX);
+        this.minY = Math.min(this.minY, aabb.minY);
+        this.maxX = Math.max(this.maxX, aabb.maxX);
+        this.maxY = Math.max(this.maxY, aabb.maxY);
+    }
+
+    /**
+     * 获取周长
+     *
+     * @return double
+     */
+    public double getPerimeter() {
+        return 2 * (this.maxX - this.minX + this.maxY - this.minY);
+    }
 }
@@ -1,6 +1,7 @@
 package gizmoball.engine.geometry;
 
 import gizmoball.engine.collision.Interval;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -34,6 +35,14 @@ public class Transform {
      */
     public double y;
 
+    /**
+     * <p>修改版本号，每次通过方法修改旋转/位移后自增，用于判断形状的世界坐标缓存是否失效</p>
+     * <p>直接修改公有字段不会更新版本号，修改后需要调用{@link #markModified()}</p>
+     */
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient int version;
+
     public Transform() {
         this(1.0, 0.0, 0.0, 0.0);
     }
@@ -54,6 +63,33 @@ public class Transform {
         return new Transform(this.cost, this.sint, this.x, this.y);
     }
 
+    /**
+     * 标记已被修改，使依赖本{@link Transform}的缓存失效
+     */
+    public void markModified() {
+        this.version++;
+    }
+
+    public void setCost(double cost) {
+        this.cost = cost;
+        this.version++;
+    }
+
+    public void setSint(double sint) {
+        this.sint = sint;
+        this.version++;
+    }
+
+    public void setX(double x) {
+        this.x = x;
+        this.version++;
+    }
+
+    public void setY(double y) {
+        this.y = y;
+        this.version++;
+    }
+
     /**
      * 绕着某一点做旋转
      *
@@ -77,6 +113,7 @@ public class Transform {
         double cy = this.y - y;
         this.x = c * cx - s * cy + x;
         this.y = s * cx + c * cy + y;
+        this.version++;
     }
 
     /**
@@ -99,6 +136,7 @@ public class Transform {
     public void translate(double x, double y) {
         this.x += x;
         this.y += y;
+        this.version++;
     }
 
     /**
@@ -173,6 +211,18 @@ public class Transform {
         return tv;
     }
 
+    /**
+     * 对给定{@link Vector2}的的x和y坐标进行逆旋转平移变换
+     *
+     * @param vector 待变换{@link Vector2}
+     */
+    public void inverseTransform(Vector2 vector) {
+        double tx = vector.x - this.x;
+        double ty = vector.y - this.y;
+        vector.x = this.cost * tx + this.sint * ty;
+        vector.y = -this.sint * tx + this.cost * ty;
+    }
+
     /**
      * 对给定{@link Vector2}的的x和y坐标进行旋转变换，返回变换后的新向量
      *
@@ -0,0 +1,231 @@
+package gizmoball.engine.geometry.shape;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import gizmoball.engine.collision.Interval;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <p>形状的抽象</p>
+ */
+@Getter
+@Setter
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class", visible = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public abstract class AbstractShape implements Convex {
+
+    /**
+     * 物体旋转/位移
+     */
+    protected Transform transform;
+
+    /**
+     * 物体缩放比率
+     */
+    protected int rate = 1;
+
+    /**
+     * 世界坐标缓存，为null表示缓存失效
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile WorldCache cache;
+
+    protected AbstractShape() {
+        this(new Transform());
+    }
+
+    protected AbstractShape(Transform transform) {
+        this.transform = transform;
+    }
+
+    /**
+     * 物体缩放
+     *
+     * @param rate 缩放比率，最小为1
+     */
+    public abstract void zoom(int rate);
+
+    /**
+     * 获取图形种类，子类沿用父类的种类
+     *
+     * @return ShapeKind
+     */
+    public abstract ShapeKind getKind();
+
+    /**
+     * 返回对应图形的AABB，每次调用都会创建新的AABB，调用方可以修改
+     *
+     * @return AABB
+     */
+    public abstract AABB createAABB();
+
+    /**
+     * <p>返回缓存的AABB，只在{@link Transform}或形状发生变化后重新计算</p>
+     * <p>返回值为共享对象，调用方不能修改，需要修改时使用{@link #createAABB()}</p>
+     *
+     * @return AABB
+     */
+    public AABB getAABB() {
+        return this.getCache().aabb;
+    }
+
+    /**
+     * <p>获取世界坐标缓存，{@link Transform}被替换或修改后重新计算</p>
+     * <p>缓存整体替换而不是原地修改，渲染线程和物理线程同时读取时不会读到计算到一半的结果</p>
+     *
+     * @return WorldCache
+     */
+    protected WorldCache getCache() {
+        WorldCache cache = this.cache;
+        Transform transform = this.transform;
+        int version = transform.getVersion();
+        if (cache == null || cache.transform != transform || cache.version != version) {
+            cache = new WorldCache(transform, version);
+            this.updateCache(cache);
+            cache.aabb = this.createAABB(cache);
+            this.cache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * 计算世界坐标系下的顶点、法向量等缓存，子类按需重写
+     *
+     * @param cache 待填充的缓存
+     */
+    protected void updateCache(WorldCache cache) {
+    }
+
+    /**
+     * 根据已填充顶点的缓存计算AABB，默认直接调用{@link #createAABB()}
+     *
+     * @param cache 已填充顶点的缓存
+     * @return AABB
+     */
+    protected AABB createAABB(WorldCache cache) {
+        return this.createAABB();
+    }
+
+    /**
+     * 使世界坐标缓存失效，形状本身（顶点、半径等）发生变化后调用
+     */
+    protected void invalidateCache() {
+        this.cache = null;
+    }
+
+    /**
+     * 返回投影到指定分离轴后的{@link Interval}
+     *
+     * @param axis 分离轴
+     * @return Interval
+     */
+    public abstract Interval project(Vector2 axis);
+
+    /**
+     * 根据所给物体密度获得物体质量
+     *
+     * @param density 物体密度
+     * @return Mass
+     */
+    public abstract Mass createMass(double density);
+
+    /**
+     * 绕着某一点做旋转
+     *
+     * @param c 旋转角度的cos
+     * @param s 旋转角度的sin
+     * @param x 旋转点的x坐标
+     * @param y 旋转点的y坐标
+     */
+    public void rotate(double c, double s, double x, double y) {
+        transform.rotate(c, s, x, y);
+    }
+
+    /**
+     * 绕着某一点做旋转
+     *
+     * @param theta 旋转角度
+     * @param x     旋转点的x坐标
+     * @param y     旋转点的y坐标
+     */
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+    }
+
+    /**
+     * 按给定坐标平移
+     *
+     * @param x x轴平移距离
+     * @param y y轴平移距离
+     */
+    public void translate(double x, double y) {
+        transform.translate(x, y);
+    }
+
+    /**
+     * 按给定向量平移
+     *
+     * @param vector2 方向向量
+     */
+    public void translate(Vector2 vector2) {
+        transform.translate(vector2);
+    }
+
+    /**
+     * 获得本地坐标系下的点坐标
+     *
+     * @param worldPoint 世界坐标系下的坐标
+     * @return Vector2
+     */
+    public Vector2 getLocalPoint(Vector2 worldPoint) {
+        return this.transform.getInverseTransformed(worldPoint);
+    }
+
+    /**
+     * 世界坐标缓存，创建后不再修改
+     */
+    protected static final class WorldCache {
+
+        /**
+         * 计算缓存时的{@link Transform}
+         */
+        private final Transform transform;
+
+        /**
+         * 计算缓存时{@link Transform}的版本号
+         */
+        private final int version;
+
+        /**
+         * 世界坐标系下的AABB
+         */
+        private AABB aabb;
+
+        /**
+         * 世界坐标系下的顶点
+         */
+        protected Vector2[] vertices;
+
+        /**
+         * 世界坐标系下的法向量
+         */
+        protected Vector2[] normals;
+
+        /**
+         * 检测碰撞时代替本图形的近似图形，与缓存一同创建，之后不再修改
+         */
+        protected AbstractShape[] proxies;
+
+        private WorldCache(Transform transform, int version) {
+            this.transform = transform;
+            this.version = version;
+        }
+    }
+}
@@ -34,11 +34,17 @@ public class Circle extends AbstractShape {
         this.radius = radius;
     }
 
+    @Override
+    public ShapeKind getKind() {
+        return ShapeKind.CIRCLE;
+    }
+
     @Override
     public void zoom(int rate) {
         if (rate < 1) return;
         this.radius = this.radius / this.rate * rate;
         this.rate = rate;
+        this.invalidateCache();
     }
 
     @Override
@@ -50,6 +50,11 @@ public class Polygon extends AbstractShape {
         return normals;
     }
 
+    @Override
+    public ShapeKind getKind() {
+        return ShapeKind.POLYGON;
+    }
+
     @Override
     public void zoom(int rate) {
         if (rate < 1) {
@@ -60,18 +65,31 @@ public class Polygon extends AbstractShape {
         for (int i = 0; i < size; i++) {
             vertices[i] = vertices[i].multiply((double) rate / this.rate);
         }
+        this.invalidateCache();
     }
 
     @Override
-    public AABB createAABB() {
-        Vector2 p = transform.getTransformed(this.vertices[0]);
+    protected void updateCache(WorldCache cache) {
+        int size = this.vertices.length;
+        cache.vertices = new Vector2[size];
+        cache.normals = new Vector2[size];
+        for (int i = 0; i < size; i++) {
+            cache.vertices[i] = transform.getTransformed(this.vertices[i]);
+            cache.normals[i] = transform.getTransformedR(this.normals[i]);
+        }
+    }
+
+    @Override
+    protected AABB createAABB(WorldCache cache) {
+        Vector2[] worldVertices = cache.vertices;
+        Vector2 p = worldVertices[0];
         double minX = p.x;
         double maxX = p.x;
         double minY = p.y;
         double maxY = p.y;
-        for (int i = 1; i < this.vertices.length; i++) {
-            double px = transform.getTransformedX(this.vertices[i]);
-            double py = transform.getTransformedY(this.vertices[i]);
+        for (int i = 1; i < worldVertices.length; i++) {
+            double px = worldVertices[i].x;
+            double py = worldVertices[i].y;
             minX = Math.min(px, minX);
             minY = Math.min(py, minY);
             maxX = Math.max(px, maxX);
@@ -80,21 +98,47 @@ public class Polygon extends AbstractShape {
         return new AABB(minX, minY, maxX, maxY);
     }
 
+    /**
+     * 获取世界坐标系下的顶点，返回值为共享缓存，调用方不能修改
+     *
+     * @return Vector2[]
+     */
+    public Vector2[] getWorldVertices() {
+        return this.getCache().vertices;
+    }
+
+    /**
+     * 获取世界坐标系下的法向量，返回值为共享缓存，调用方不能修改
+     *
+     * @return Vector2[]
+     */
+    public Vector2[] getWorldNormals() {
+        return this.getCache().normals;
+    }
+
+    @Override
+    public AABB createAABB() {
+        return new AABB(this.getAABB());
+    }
+
     @Override
     public Vector2[] getAxes(Vector2[] foci) {
         int fociSize = foci != null ? foci.length : 0;
         int size = this.vertices.length;
+        WorldCache cache = this.getCache();
+        Vector2[] worldVertices = cache.vertices;
+        Vector2[] worldNormals = cache.normals;
         Vector2[] axes = new Vector2[size + fociSize];
         int index = 0;
         for (int i = 0; i < size; i++) {
-            axes[index++] = transform.getTransformedR(this.normals[i]);
+            axes[index++] = worldNormals[i];
         }
         for (int i = 0; i < fociSize; i++) {
             Vector2 f = foci[i];
-            Vector2 closest = transform.getTransformed(this.vertices[0]);
+            Vector2 closest = worldVertices[0];
             double d = f.distanceSquared(closest);
             for (int j = 1; j < size; j++) {
-                Vector2 p = transform.getTransformed(this.vertices[j]);
+                Vector2 p = worldVertices[j];
                 double dt = f.distanceSquared(p);
                 if (dt < d) {
                     closest = p;
@@ -117,13 +161,12 @@ public class Polygon extends AbstractShape {
     @Override
     public Interval project(Vector2 axis) {
         double v;
-        Vector2 p = transform.getTransformed(this.vertices[0]);
-        double min = axis.dot(p);
+        Vector2[] worldVertices = this.getWorldVertices();
+        double min = axis.dot(worldVertices[0]);
         double max = min;
-        int size = this.vertices.length;
+        int size = worldVertices.length;
         for (int i = 1; i < size; i++) {
-            p = transform.getTransformed(this.vertices[i]);
-            v = axis.dot(p);
+            v = axis.dot(worldVertices[i]);
             min = Math.min(min, v);
             max = Math.max(max, v);
         }
@@ -140,7 +183,7 @@ public class Polygon extends AbstractShape {
     public Vector2 getFarthestPoint(Vector2 vector) {
         Vector2 localn = transform.getInverseTransformedR(vector);
         int index = getFarthestVertexIndex(localn);
-        return transform.getTransformed(this.vertices[index]);
+        return this.getWorldVertices()[index].copy();
     }
 
     private int getFarthestVertexIndex(Vector2 vector) {
@@ -0,0 +1,212 @@
+package gizmoball.engine.geometry.shape;
+
+import gizmoball.engine.collision.Interval;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class QuarterCircle extends AbstractShape {
+
+    /**
+     * 半径
+     */
+    private double radius;
+
+    /**
+     * 顶点数组
+     */
+    private Vector2[] vertices;
+
+    /**
+     * 反序列化调用
+     */
+    @Deprecated
+    public QuarterCircle() {
+        this(1);
+    }
+
+    public QuarterCircle(double radius) {
+        this(new Transform(), radius);
+    }
+
+    public QuarterCircle(Transform transform, double radius) {
+        super(transform);
+        this.radius = radius;
+        this.vertices = new Vector2[3];
+        this.vertices[0] = new Vector2(-radius / 2, radius / 2);
+        this.vertices[1] = new Vector2(-radius / 2, -radius / 2);
+        this.vertices[2] = new Vector2(radius / 2, -radius / 2);
+    }
+
+    @Override
+    public ShapeKind getKind() {
+        return ShapeKind.QUARTER_CIRCLE;
+    }
+
+    @Override
+    public void zoom(int rate) {
+        if (rate < 1) return;
+        this.radius = this.radius / this.rate * rate;
+        int size = vertices.length;
+        for (int i = 0; i < size; i++) {
+            vertices[i] = vertices[i].multiply((double) rate / this.rate);
+        }
+        this.rate = rate;
+        this.invalidateCache();
+    }
+
+    /**
+     * 近似图形在缓存中的下标
+     */
+    private static final int CIRCLE_PROXY = 0;
+
+    private static final int RECTANGLE_PROXY = 1;
+
+    private static final int POLYGON_PROXY = 2;
+
+    /**
+     * 计算世界坐标系下的顶点，并创建碰撞检测使用的近似图形，近似图形只在{@link Transform}或半径变化后重新创建
+     */
+    @Override
+    protected void updateCache(WorldCache cache) {
+        int size = this.vertices.length;
+        cache.vertices = new Vector2[size];
+        for (int i = 0; i < size; i++) {
+            cache.vertices[i] = transform.getTransformed(this.vertices[i]);
+        }
+        Vector2 center = cache.vertices[1];
+        cache.proxies = new AbstractShape[3];
+        cache.proxies[CIRCLE_PROXY] = new Circle(this.radius,
+                new Transform(transform.cost, transform.sint, center.x, center.y));
+        cache.proxies[RECTANGLE_PROXY] = new Rectangle(this.radius / 2, this.radius / 2, transform.copy());
+        cache.proxies[POLYGON_PROXY] = new Polygon(transform.copy(), new Vector2[]{
+                this.vertices[0].copy(),
+                this.vertices[1].copy(),
+                this.vertices[2].copy(),
+                new Vector2(this.radius / Math.sqrt(2), this.radius / Math.sqrt(2))});
+    }
+
+    /**
+     * 获取圆弧所在的整圆，球位于两条半径所夹的角度内时用于代替扇形，返回值为共享缓存，调用方不能修改
+     *
+     * @return Circle
+     */
+    public Circle getCircleProxy() {
+        return (Circle) this.getCache().proxies[CIRCLE_PROXY];
+    }
+
+    /**
+     * 获取扇形的外接正方形，球位于两条半径所夹的角度外时用于代替扇形，返回值为共享缓存，调用方不能修改
+     *
+     * @return Rectangle
+     */
+    public Rectangle getRectangleProxy() {
+        return (Rectangle) this.getCache().proxies[RECTANGLE_PROXY];
+    }
+
+    /**
+     * 获取与多边形检测时代替扇形的四边形，返回值为共享缓存，调用方不能修改
+     *
+     * @return Polygon
+     */
+    public Polygon getPolygonProxy() {
+        return (Polygon) this.getCache().proxies[POLYGON_PROXY];
+    }
+
+    /**
+     * 获取世界坐标系下的顶点，返回值为共享缓存，调用方不能修改
+     *
+     * @return Vector2[]
+     */
+    public Vector2[] getWorldVertices() {
+        return this.getCache().vertices;
+    }
+
+    @Override
+    public Mass createMass(double density) {
+        double r2 = this.radius * this.radius;
+
+        double mass = density * Math.PI * r2 / 4;
+        double inertia = mass * r2 * 0.5;
+        return new Mass(new Vector2(4 * Math.sqrt(2) * radius / 3 / Math.PI - radius / 2,
+                4 * Math.sqrt(2) * radius / 3 / Math.PI - radius / 2), mass, inertia);
+    }
+
+    @Override
+    protected AABB createAABB(WorldCache cache) {
+        // 扇形的AABB即其外接正方形的AABB，正方形第四个顶点与vertices[1]关于中心对称
+        Vector2[] worldVertices = cache.vertices;
+        double x = 2 * transform.x - worldVertices[1].x;
+        double y = 2 * transform.y - worldVertices[1].y;
+        double minX = x;
+        double minY = y;
+        double maxX = x;
+        double maxY = y;
+        for (Vector2 vertex : worldVertices) {
+            minX = Math.min(minX, vertex.x);
+            minY = Math.min(minY, vertex.y);
+            maxX = Math.max(maxX, vertex.x);
+            maxY = Math.max(maxY, vertex.y);
+        }
+        return new AABB(minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public AABB createAABB() {
+        return new AABB(this.getAABB());
+    }
+
+    @Override
+    public Interval project(Vector2 axis) {
+        return null;
+    }
+
+    @Override
+    public Vector2[] getAxes(Vector2[] foci) {
+        return null;
+    }
+
+    @Override
+    public Vector2[] getFoci() {
+        return null;
+    }
+
+    @Override
+    public Vector2 getFarthestFeature(Vector2 vector) {
+        return null;
+    }
+
+    /**
+     * <p>扇形的支撑函数</p>
+     * <p>方向位于两条半径所夹的角度内时，最远点在圆弧上；否则最远点必为三个顶点之一</p>
+     *
+     * @param vector 方向向量
+     * @return Vector2
+     */
+    @Override
+    public Vector2 getFarthestPoint(Vector2 vector) {
+        Vector2 local = transform.getInverseTransformedR(vector);
+        // 圆心为vertices[1]，两条半径分别沿局部坐标系的x轴和y轴正方向
+        if (local.x >= 0 && local.y >= 0 && !local.isZero()) {
+            double scale = this.radius / local.getMagnitude();
+            Vector2 center = this.vertices[1];
+            return transform.getTransformed(new Vector2(center.x + local.x * scale, center.y + local.y * scale));
+        }
+        int index = 0;
+        double max = local.dot(this.vertices[0]);
+        for (int i = 1; i < this.vertices.length; i++) {
+            double projection = local.dot(this.vertices[i]);
+            if (projection > max) {
+                max = projection;
+                index = i;
+            }
+        }
+        return this.getWorldVertices()[index].copy();
+    }
+
+}
@@ -53,6 +53,11 @@ public class Rectangle extends Polygon {
         this(0.0, 0.0);
     }
 
+    @Override
+    public ShapeKind getKind() {
+        return ShapeKind.RECTANGLE;
+    }
+
     @Override
     public void zoom(int rate) {
         super.zoom(rate);
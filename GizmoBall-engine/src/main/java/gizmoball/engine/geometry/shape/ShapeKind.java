@@ -0,0 +1,20 @@
+package gizmoball.engine.geometry.shape;
+
+/**
+ * 图形种类，窄相检测按两个图形的种类查表选择检测方法
+ */
+public enum ShapeKind {
+
+    CIRCLE,
+
+    /**
+     * 一般的凸多边形
+     */
+    POLYGON,
+
+    RECTANGLE,
+
+    TRIANGLE,
+
+    QUARTER_CIRCLE
+}
@@ -25,6 +25,11 @@ public class Triangle extends Polygon {
         super(transform, vertices, getCounterClockwiseEdgeNormals(vertices));
     }
 
+    @Override
+    public ShapeKind getKind() {
+        return ShapeKind.TRIANGLE;
+    }
+
     @Override
     public void zoom(int rate) {
         super.zoom(rate);
@@ -0,0 +1,16 @@
+package gizmoball.engine.physics;
+
+/**
+ * <p>持续施加在物体上的力，通过{@link PhysicsBody#addForceGenerator(ForceGenerator)}注册</p>
+ * <p>每次速度积分前调用，使用{@link PhysicsBody#applyForce(double, double)}等方法累积本tick的受力</p>
+ */
+@FunctionalInterface
+public interface ForceGenerator {
+
+    /**
+     * 向物体施加本tick的力
+     *
+     * @param body 物体
+     */
+    void apply(PhysicsBody body);
+}
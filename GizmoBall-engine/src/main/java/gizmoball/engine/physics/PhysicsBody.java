@@ -0,0 +1,385 @@
+package gizmoball.engine.physics;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.Interval;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 代表一个物体，他也可以是一个组件包含多个基础物体
+ */
+@Data
+@RequiredArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY, property = "@class", visible = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PhysicsBody {
+
+    /**
+     * 物体质量
+     */
+    protected Mass mass;
+
+    /**
+     * 当前速度
+     */
+    protected final Vector2 linearVelocity;
+
+    /**
+     * 角速度
+     */
+    protected double angularVelocity;
+
+    /**
+     * 线性阻尼
+     */
+    protected double linearDamping;
+
+    /**
+     * 物体组成的部件（简单形状）
+     */
+    protected final AbstractShape shape;
+
+    /**
+     * 重力系数
+     */
+    protected double gravityScale;
+
+    /**
+     * 阻力系数
+     */
+    protected double friction;
+
+    /**
+     * 回弹系数
+     */
+    protected double restitution;
+
+    /**
+     * 回弹速度
+     */
+    protected double restitutionVelocity;
+
+    /**
+     * 是否处于休眠状态，休眠的物体不参与积分和BroadPhase，不保存到存档中
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient boolean asleep;
+
+    /**
+     * 速度持续低于休眠阈值的时间，单位s
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient double sleepTime;
+
+    /**
+     * 本tick累积的受力，在下一次速度积分后清零，不保存到存档中
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient double forceX;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient double forceY;
+
+    /**
+     * 本tick累积的力矩，在下一次速度积分后清零，不保存到存档中
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient double torque;
+
+    /**
+     * 持续施加的力，每次速度积分前调用，没有时为null
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    protected transient List<ForceGenerator> forceGenerators;
+
+    // 反序列化调用
+    public PhysicsBody() {
+        this(null);
+    }
+
+    public PhysicsBody(AbstractShape shape) {
+        this.mass = new Mass();
+        this.linearVelocity = new Vector2();
+        this.linearDamping = 0.0;
+        this.shape = shape;
+        this.gravityScale = 10.0;
+    }
+
+    /**
+     * 在质心施加一个力，在下一次速度积分时生效，并唤醒物体
+     *
+     * @param x 力的x分量
+     * @param y 力的y分量
+     */
+    public void applyForce(double x, double y) {
+        this.applyForce(x, y, true);
+    }
+
+    /**
+     * <p>在质心施加一个力，在下一次速度积分时生效</p>
+     * <p>持续存在的场力（如黑洞引力）不应唤醒物体，否则物体的静止时间每个tick都被清零，永远无法休眠</p>
+     *
+     * @param x    力的x分量
+     * @param y    力的y分量
+     * @param wake 是否唤醒物体
+     */
+    public void applyForce(double x, double y, boolean wake) {
+        this.forceX += x;
+        this.forceY += y;
+        if (wake) {
+            this.wakeUp();
+        }
+    }
+
+    /**
+     * 在世界坐标系中的一点施加一个力，同时产生力矩，在下一次速度积分时生效，并唤醒物体
+     *
+     * @param x      力的x分量
+     * @param y      力的y分量
+     * @param pointX 作用点的x坐标
+     * @param pointY 作用点的y坐标
+     */
+    public void applyForceAt(double x, double y, double pointX, double pointY) {
+        Transform transform = this.shape.getTransform();
+        Vector2 center = this.mass.getCenter();
+        double rx = pointX - (center == null ? transform.x : transform.getTransformedX(center));
+        double ry = pointY - (center == null ? transform.y : transform.getTransformedY(center));
+        this.forceX += x;
+        this.forceY += y;
+        this.torque += rx * y - ry * x;
+        this.wakeUp();
+    }
+
+    /**
+     * 施加一个力矩，在下一次速度积分时生效，并唤醒物体
+     *
+     * @param torque 力矩
+     */
+    public void applyTorque(double torque) {
+        this.torque += torque;
+        this.wakeUp();
+    }
+
+    /**
+     * 清空本tick累积的受力和力矩，持续施加的力不受影响
+     */
+    public void clearForce() {
+        this.forceX = 0.0;
+        this.forceY = 0.0;
+        this.torque = 0.0;
+    }
+
+    /**
+     * 添加一个持续施加的力，每次速度积分前调用
+     *
+     * @param generator 持续施加的力
+     */
+    public void addForceGenerator(ForceGenerator generator) {
+        if (this.forceGenerators == null) {
+            this.forceGenerators = new ArrayList<>(1);
+        }
+        this.forceGenerators.add(generator);
+    }
+
+    /**
+     * 移除一个持续施加的力
+     *
+     * @param generator 持续施加的力
+     * @return 是否存在
+     */
+    public boolean removeForceGenerator(ForceGenerator generator) {
+        return this.forceGenerators != null && this.forceGenerators.remove(generator);
+    }
+
+    /**
+     * 使物体进入休眠，清空速度和受力
+     */
+    public void sleep() {
+        this.asleep = true;
+        this.linearVelocity.zero();
+        this.angularVelocity = 0.0;
+        this.clearForce();
+    }
+
+    /**
+     * 唤醒物体，重新开始计时
+     */
+    public void wakeUp() {
+        this.asleep = false;
+        this.sleepTime = 0.0;
+    }
+
+    /**
+     * 根据当前速度更新静止时间，线速度或角速度超过休眠阈值时清零
+     *
+     * @param elapsedTime 经过的时间
+     * @return 静止时间
+     */
+    public double updateSleepTime(double elapsedTime) {
+        double linearTolerance = Settings.DEFAULT_SLEEP_LINEAR_VELOCITY;
+        if (this.linearVelocity.getMagnitudeSquared() > linearTolerance * linearTolerance ||
+                Math.abs(this.angularVelocity) > Settings.DEFAULT_SLEEP_ANGULAR_VELOCITY) {
+            this.sleepTime = 0.0;
+        } else {
+            this.sleepTime += elapsedTime;
+        }
+        return this.sleepTime;
+    }
+
+    /**
+     * 将持续施加的力累积到本tick的受力中，每个tick调用一次
+     */
+    public void accumulate() {
+        if (this.forceGenerators != null) {
+            for (int i = 0; i < this.forceGenerators.size(); i++) {
+                this.forceGenerators.get(i).apply(this);
+            }
+        }
+    }
+
+    /**
+     * 使用重力和本tick累积的受力更新速度，之后清空受力
+     *
+     * @param gravity 重力
+     */
+    public void integrateVelocity(Vector2 gravity) {
+        if (this.mass.getType() == MassType.INFINITE || this.mass.getType() == null) {
+            return;
+        }
+        this.accumulate();
+        this.integrateVelocity(gravity, Settings.DEFAULT_TICK_FREQUENCY);
+        this.clearForce();
+    }
+
+    /**
+     * <p>使用重力和本tick累积的受力更新经过给定时间后的速度，不累积持续施加的力，也不清空受力</p>
+     * <p>用于子步积分，tick开始时调用{@link #accumulate()}，所有子步结束后调用{@link #clearForce()}</p>
+     *
+     * @param gravity     重力
+     * @param elapsedTime 经过的时间
+     */
+    public void integrateVelocity(Vector2 gravity, double elapsedTime) {
+        if (this.mass.getType() == MassType.INFINITE || this.mass.getType() == null) {
+            return;
+        }
+
+        double mass = this.mass.getMass();
+        double inverseMass = this.mass.getInverseMass();
+
+        // 施加重力和引力
+        if (inverseMass > Epsilon.E) {
+            this.linearVelocity.x += elapsedTime * inverseMass * (gravity.x * this.gravityScale * mass + this.forceX);
+            this.linearVelocity.y += elapsedTime * inverseMass * (gravity.y * this.gravityScale * mass + this.forceY);
+        }
+        // 施加力矩
+        double inverseInertia = this.mass.getInverseInertia();
+        if (inverseInertia > Epsilon.E) {
+            this.angularVelocity += elapsedTime * inverseInertia * this.torque;
+        }
+
+        // 施加线性阻尼
+        if (this.linearDamping != 0.0) {
+            double linear = 1.0 - elapsedTime * this.linearDamping;
+            linear = Interval.sandwich(linear, 0.0, 1.0);
+
+            this.linearVelocity.x *= linear;
+            this.linearVelocity.y *= linear;
+        }
+
+        // 施加转动阻尼
+        double angular = 1.0 - elapsedTime * Settings.DEFAULT_ANGULAR_DAMPING;
+        angular = Interval.sandwich(angular, 0.0, 1.0);
+
+        this.angularVelocity *= angular;
+    }
+
+    /**
+     * 判断物体是否固定
+     *
+     * @return boolean
+     */
+    private boolean isStatic() {
+        return this.mass.getType() == MassType.INFINITE &&
+                Math.abs(this.linearVelocity.x) <= Epsilon.E &&
+                Math.abs(this.linearVelocity.y) <= Epsilon.E &&
+                Math.abs(this.angularVelocity) <= Epsilon.E;
+    }
+
+    /**
+     * 使用速度更新位置
+     */
+    public void integratePosition() {
+        this.integratePosition(Settings.DEFAULT_TICK_FREQUENCY);
+    }
+
+    /**
+     * 使用速度更新经过给定时间后的位置，用于子步积分
+     *
+     * @param elapsedTime 经过的时间
+     */
+    public void integratePosition(double elapsedTime) {
+        // 平移量和旋转量的限制按1tick给出，按时间比例缩放
+        double scale = elapsedTime / Settings.DEFAULT_TICK_FREQUENCY;
+        double maxTranslation = Settings.DEFAULT_MAXIMUM_TRANSLATION * scale;
+        double maxTranslationSquared = maxTranslation * maxTranslation;
+        double maxRotation = Settings.DEFAULT_MAXIMUM_ROTATION * scale;
+
+        if (this.isStatic()) {
+            return;
+        }
+
+        // 计算平移量
+        double translationX = this.linearVelocity.x * elapsedTime;
+        double translationY = this.linearVelocity.y * elapsedTime;
+        double translationMagnitudeSquared = translationX * translationX + translationY * translationY;
+
+        // 确保平移量不超过限制
+        if (translationMagnitudeSquared > maxTranslationSquared) {
+            double translationMagnitude = Math.sqrt(translationMagnitudeSquared);
+            double ratio = maxTranslation / translationMagnitude;
+
+            this.linearVelocity.multiply(ratio);
+            translationX *= ratio;
+            translationY *= ratio;
+        }
+
+        // 计算旋转量
+        double rotation = this.angularVelocity * elapsedTime;
+
+        // 确保旋转量不超过限制
+        if (rotation > maxRotation) {
+            double ratio = maxRotation / Math.abs(rotation);
+            this.angularVelocity *= ratio;
+            rotation *= ratio;
+        }
+
+        // 应用平移量和旋转量
+        this.getShape().translate(translationX, translationY);
+        Vector2 center = this.getShape().getTransform().getTransformed(this.getMass().getCenter());
+        this.getShape().rotate(rotation, center.x, center.y);
+    }
+
+}
+
+
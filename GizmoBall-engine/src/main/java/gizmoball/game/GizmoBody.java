@@ -0,0 +1,33 @@
+package gizmoball.game;
+
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.physics.PhysicsBody;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 带有物件类型的物体，{@link GizmoWorld}按类型分组处理碰撞
+ */
+@Getter
+@Setter
+public class GizmoBody extends PhysicsBody {
+
+    private GizmoType gizmoType;
+
+    /**
+     * 反序列化用
+     */
+    @Deprecated
+    public GizmoBody() {
+        super();
+    }
+
+    public GizmoBody(AbstractShape shape) {
+        super(shape);
+    }
+
+    public GizmoBody(AbstractShape shape, GizmoType gizmoType) {
+        super(shape);
+        this.gizmoType = gizmoType;
+    }
+}
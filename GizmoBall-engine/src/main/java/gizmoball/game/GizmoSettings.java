@@ -0,0 +1,55 @@
+package gizmoball.game;
+
+public class GizmoSettings {
+
+    /**
+     * 黑洞缩小系数
+     */
+    public static final double BLACK_HOLE_BIAS = 0.5;
+
+    /**
+     * 黑洞引力系数，单位质量的球受到的引力为黑洞半径 * 系数 / 距离的平方
+     */
+    public static final double BLACK_HOLE_GRAVITY = 10000;
+
+    /**
+     * 黑洞引力超过球所受重力的该比例时唤醒休眠的球，更弱的引力不足以推动静止的球
+     */
+    public static final double BLACK_HOLE_WAKE_RATIO = 0.1;
+
+    /**
+     * 黑洞引力场的格子边长
+     */
+    public static final double GRAVITY_FIELD_CELL_SIZE = 10;
+
+    /**
+     * 与球的距离小于该值的黑洞不使用插值，直接计算引力
+     */
+    public static final double GRAVITY_FIELD_EXACT_DISTANCE = 60;
+
+    /**
+     * 边界四角缓冲
+     */
+    public static final int BOUNDARY_BUFFER = 500;
+
+
+    /**
+     * 管道穿模误差
+     */
+    public static final double PIPE_PIERCE_BIAS = 5;
+
+    /**
+     * 默认挡板角速度
+     */
+    public static final double DEFAULT_FLIPPER_ANGULAR = 15;
+
+    /**
+     * 默认每tick挡板旋转角度
+     */
+    public static final double DEFAULT_FLIPPER_ROTATION = 6;
+
+    /**
+     * 静态物件网格的格子边长，与默认网格宽度一致
+     */
+    public static final double BROAD_PHASE_CELL_SIZE = 30;
+}
@@ -0,0 +1,40 @@
+package gizmoball.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>游戏物件的类型</p>
+ * <p>只包含领域层需要的信息，物件的创建方式和渲染方式由UI层按类型映射</p>
+ */
+@Getter
+@AllArgsConstructor
+public enum GizmoType {
+
+    BALL("gizmo/ball"),
+
+    CIRCLE("gizmo/circle"),
+
+    BLACK_HOLE("gizmo/blackHole"),
+
+    RECTANGLE("gizmo/rectangle"),
+
+    TRIANGLE("gizmo/triangle"),
+
+    PIPE("gizmo/pipe"),
+
+    CURVED_PIPE("gizmo/curvedPipe"),
+
+    LEFT_FLIPPER("gizmo/leftFlipper"),
+
+    RIGHT_FLIPPER("gizmo/rightFlipper"),
+
+    BOUNDARY("gizmo/boundary");
+
+    private final String id;
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -0,0 +1,593 @@
+package gizmoball.game;
+
+import gizmoball.engine.AbstractWorld;
+import gizmoball.engine.Settings;
+import gizmoball.engine.TickMetrics;
+import gizmoball.engine.collision.broadphase.BroadPhase;
+import gizmoball.engine.collision.broadphase.DynamicAABBTree;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.ccd.TimeOfImpactSolver;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.contact.ContactConstraint;
+import gizmoball.engine.collision.contact.IslandBuilder;
+import gizmoball.engine.collision.detector.NarrowPhase;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.Circle;
+import gizmoball.engine.physics.MassType;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Flipper;
+import gizmoball.game.listener.*;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * <p>弹球游戏的世界，按{@link GizmoType}分组处理碰撞</p>
+ * <p>不依赖UI，可以在无图形界面的环境中直接使用{@code GizmoWorld<GizmoBody>}运行模拟</p>
+ *
+ * @param <T> 物体类型
+ */
+public class GizmoWorld<T extends GizmoBody> extends AbstractWorld<T> {
+
+    private final List<TickListener> tickListeners;
+
+    private final BlackHoleListener blackHoleListener;
+
+    /**
+     * 各监听器处理的物体类型，与{@link #tickListeners}一一对应
+     */
+    private final List<GizmoType> tickListenerTypes;
+
+    protected final Map<GizmoType, List<PhysicsBody>> bodyTypeMap;
+
+    /**
+     * BroadPhase筛选出的球与静态物体的候选碰撞对，按静态物体的类型分组
+     */
+    protected final Map<GizmoType, PairBuffer> candidateTypeMap;
+
+    /**
+     * BroadPhase检测结果，每个tick复用
+     */
+    private final PairBuffer candidates;
+
+    /**
+     * 并行执行{@link TickListener#tick()}的线程池，为null时在调用线程上顺序执行
+     */
+    private ForkJoinPool detectionPool;
+
+    /**
+     * 并行检测时各监听器的任务，每个tick复用
+     */
+    private final List<ForkJoinTask<ContactBuffer>> detectionTasks;
+
+    /**
+     * 并行检测时在调用线程上顺序执行的监听器的结果，每个tick复用
+     */
+    private final List<ContactBuffer> detectionResults;
+
+    /**
+     * 合并后的碰撞检测结果，每个tick复用
+     */
+    private final ContactBuffer contacts;
+
+    /**
+     * 参与连续碰撞检测的物体类型，管道和黑洞不会阻挡球，不参与连续碰撞检测
+     */
+    private static final Set<GizmoType> CCD_TYPES = EnumSet.of(
+            GizmoType.BOUNDARY, GizmoType.CIRCLE, GizmoType.TRIANGLE, GizmoType.RECTANGLE,
+            GizmoType.LEFT_FLIPPER, GizmoType.RIGHT_FLIPPER);
+
+    private final TimeOfImpactSolver timeOfImpactSolver;
+
+    /**
+     * tick开始时球的位置，按x, y依次存放
+     */
+    private double[] ballStartPositions;
+
+    /**
+     * 连续碰撞检测的候选物体，每个tick复用
+     */
+    private final List<PhysicsBody> ccdCandidates;
+
+    /**
+     * 是否允许球休眠
+     */
+    private boolean sleepEnabled;
+
+    /**
+     * 本tick未休眠的球，每个tick复用
+     */
+    private final List<PhysicsBody> awakeBalls;
+
+    /**
+     * 按接触岛判断休眠，相互接触的球一起休眠
+     */
+    private final IslandBuilder sleepIslandBuilder;
+
+    /**
+     * 运动的挡板附近的物体，每个tick复用
+     */
+    private final List<PhysicsBody> wakeCandidates;
+
+    /**
+     * 性能统计的阶段下标，未启用性能统计时不使用
+     */
+    private int preTickPhase;
+
+    private int broadPhasePhase;
+
+    private int[] listenerPhases;
+
+    private int detectPhase;
+
+    private int preLocalSolvePhase;
+
+    private int ccdPhase;
+
+    /**
+     * 求解质量的量规，未启用性能统计时不使用
+     */
+    private int qualityLevelGauge;
+
+    private int qualityIterationsGauge;
+
+    private int qualitySubstepsGauge;
+
+    public GizmoWorld(Vector2 gravity) {
+        this(gravity, new DynamicAABBTree());
+    }
+
+    public GizmoWorld(Vector2 gravity, BroadPhase broadPhase) {
+        super(gravity, broadPhase);
+
+        bodyTypeMap = new HashMap<>();
+        candidateTypeMap = new HashMap<>();
+        candidates = new PairBuffer();
+        detectionTasks = new ArrayList<>();
+        detectionResults = new ArrayList<>();
+        contacts = new ContactBuffer();
+        timeOfImpactSolver = new TimeOfImpactSolver();
+        ballStartPositions = new double[0];
+        ccdCandidates = new ArrayList<>();
+        sleepEnabled = true;
+        awakeBalls = new ArrayList<>();
+        sleepIslandBuilder = new IslandBuilder();
+        wakeCandidates = new ArrayList<>();
+
+        List<PhysicsBody> balls = new ArrayList<>();
+        bodyTypeMap.put(GizmoType.BALL, balls);
+        tickListeners = new ArrayList<>();
+        tickListenerTypes = new ArrayList<>();
+
+        addTickListener(GizmoType.BALL, new BallListener(balls));
+        blackHoleListener = new BlackHoleListener(balls, bodyTypeMap.computeIfAbsent(GizmoType.BLACK_HOLE, k -> new ArrayList<>()), this::getWorldBounds, this::removeBall, gravity);
+        addTickListener(GizmoType.BLACK_HOLE, blackHoleListener);
+        addTickListener(GizmoType.PIPE, new PipeListener(getCandidates(GizmoType.PIPE), gravity));
+        addTickListener(GizmoType.CURVED_PIPE, new PipeListener(getCandidates(GizmoType.CURVED_PIPE), gravity));
+        addTickListener(GizmoType.BOUNDARY, new ObstacleListener(getCandidates(GizmoType.BOUNDARY)));
+        addTickListener(GizmoType.CIRCLE, new ObstacleListener(getCandidates(GizmoType.CIRCLE)));
+        addTickListener(GizmoType.TRIANGLE, new ObstacleListener(getCandidates(GizmoType.TRIANGLE)));
+        addTickListener(GizmoType.RECTANGLE, new ObstacleListener(getCandidates(GizmoType.RECTANGLE)));
+        addTickListener(GizmoType.LEFT_FLIPPER, new FlipperListener(bodyTypeMap.computeIfAbsent(GizmoType.LEFT_FLIPPER, k -> new ArrayList<>()), getCandidates(GizmoType.LEFT_FLIPPER), broadPhase));
+        addTickListener(GizmoType.RIGHT_FLIPPER, new FlipperListener(bodyTypeMap.computeIfAbsent(GizmoType.RIGHT_FLIPPER, k -> new ArrayList<>()), getCandidates(GizmoType.RIGHT_FLIPPER), broadPhase));
+
+        if (TickMetrics.ENABLED) {
+            registerPhases();
+        }
+    }
+
+    private void addTickListener(GizmoType type, TickListener listener) {
+        tickListeners.add(listener);
+        tickListenerTypes.add(type);
+    }
+
+    /**
+     * 注册各阶段，顺序即CSV中的列顺序
+     */
+    private void registerPhases() {
+        preTickPhase = metrics.registerPhase("preTick");
+        broadPhasePhase = metrics.registerPhase("broadPhase");
+        listenerPhases = new int[tickListeners.size()];
+        for (int i = 0; i < tickListeners.size(); i++) {
+            listenerPhases[i] = metrics.registerPhase("listener/" + tickListenerTypes.get(i).name());
+        }
+        detectPhase = metrics.registerPhase("detect");
+        preLocalSolvePhase = metrics.registerPhase("preLocalSolve");
+        // 本地求解各阶段由CollisionDetector注册，需要在ccd之前
+        collisionDetector.setMetrics(metrics);
+        ccdPhase = metrics.registerPhase("ccd");
+        qualityLevelGauge = metrics.registerGauge("quality/level");
+        qualityIterationsGauge = metrics.registerGauge("quality/iterations");
+        qualitySubstepsGauge = metrics.registerGauge("quality/substeps");
+    }
+
+    private PairBuffer getCandidates(GizmoType type) {
+        return candidateTypeMap.computeIfAbsent(type, k -> new PairBuffer());
+    }
+
+    @Override
+    public void addBody(T body) {
+        super.addBody(body);
+
+        GizmoType gizmoType = body.getGizmoType();
+        bodyTypeMap.computeIfAbsent(gizmoType, k -> new ArrayList<>()).add(body);
+        if (gizmoType == GizmoType.BLACK_HOLE) {
+            blackHoleListener.invalidateGravityField();
+        }
+    }
+
+    @Override
+    public void removeBody(T body) {
+        super.removeBody(body);
+
+        GizmoType type = body.getGizmoType();
+        List<PhysicsBody> list = bodyTypeMap.get(type);
+        if (list != null) {
+            list.remove(body);
+        }
+        if (type == GizmoType.BLACK_HOLE) {
+            blackHoleListener.invalidateGravityField();
+        }
+    }
+
+    /**
+     * 移除被黑洞吞噬的球，球必然是通过{@link #addBody(GizmoBody)}加入的
+     */
+    @SuppressWarnings("unchecked")
+    private void removeBall(PhysicsBody ball) {
+        removeBody((T) ball);
+    }
+
+    @Override
+    public void removeAllBodies() {
+        super.removeAllBodies();
+
+        // 从类型Map中移除
+        for (Map.Entry<GizmoType, List<PhysicsBody>> entry : bodyTypeMap.entrySet()) {
+            entry.getValue().clear();
+        }
+        blackHoleListener.invalidateGravityField();
+    }
+
+    /**
+     * 黑洞引力场的范围，默认为所有物体AABB的并集
+     *
+     * @return AABB
+     */
+    protected AABB getWorldBounds() {
+        AABB bounds = null;
+        for (T body : bodies) {
+            AABB aabb = body.getShape().createAABB();
+            if (bounds == null) {
+                bounds = aabb;
+            } else {
+                bounds.union(aabb);
+            }
+        }
+        return bounds == null ? new AABB(0, 0, 0, 0) : bounds;
+    }
+
+    /**
+     * <p>按当前的黑洞和球重新计算黑洞引力场，应在开始游戏时调用</p>
+     * <p>增删黑洞时引力场会自动失效并在下一个tick重新计算，直接修改黑洞位置或大小后需要调用该方法</p>
+     */
+    public void buildGravityField() {
+        blackHoleListener.buildGravityField();
+    }
+
+    public ForkJoinPool getDetectionPool() {
+        return detectionPool;
+    }
+
+    /**
+     * <p>设置并行碰撞检测的线程池，为null时关闭并行检测</p>
+     * <p>{@link TickListener#isParallelizable()}为true的监听器提交到线程池中执行，其余监听器在调用线程上按顺序执行，
+     * 结果按监听器的注册顺序合并，与顺序执行的结果一致</p>
+     *
+     * @param detectionPool 线程池
+     */
+    public void setDetectionPool(ForkJoinPool detectionPool) {
+        this.detectionPool = detectionPool;
+    }
+
+    /**
+     * <p>设置球与障碍物、挡板碰撞检测使用的NarrowPhase，如{@code world.setNarrowPhase(GjkNarrowPhase::new)}</p>
+     * <p>每个监听器使用单独的实例，因此并行检测时是安全的。管道始终使用SAT，球与球之间始终直接按圆形检测</p>
+     *
+     * @param narrowPhaseFactory NarrowPhase的构造方法
+     */
+    public void setNarrowPhase(Supplier<? extends NarrowPhase> narrowPhaseFactory) {
+        for (TickListener listener : tickListeners) {
+            listener.setNarrowPhase(narrowPhaseFactory.get());
+        }
+    }
+
+    public boolean isSleepEnabled() {
+        return sleepEnabled;
+    }
+
+    /**
+     * <p>设置是否允许球休眠，关闭时唤醒所有球</p>
+     * <p>速度持续低于阈值超过{@link Settings#DEFAULT_SLEEP_TIME}的球进入休眠，休眠的球不参与积分、BroadPhase和求解。
+     * 挡板在附近运动、与未休眠的球接触或受到引力时唤醒</p>
+     *
+     * @param sleepEnabled 是否允许休眠
+     */
+    public void setSleepEnabled(boolean sleepEnabled) {
+        this.sleepEnabled = sleepEnabled;
+        if (!sleepEnabled) {
+            for (PhysicsBody ball : bodyTypeMap.get(GizmoType.BALL)) {
+                ball.wakeUp();
+            }
+        }
+    }
+
+    public void flipperUp(Flipper.Direction direction) {
+        if (direction == Flipper.Direction.LEFT) {
+            for (PhysicsBody physicsBody : bodyTypeMap.get(GizmoType.LEFT_FLIPPER)) {
+                Flipper flipper = (Flipper) physicsBody.getShape();
+                flipper.rise();
+            }
+        } else if (direction == Flipper.Direction.RIGHT) {
+            for (PhysicsBody physicsBody : bodyTypeMap.get(GizmoType.RIGHT_FLIPPER)) {
+                Flipper flipper = (Flipper) physicsBody.getShape();
+                flipper.rise();
+            }
+        }
+    }
+
+    public void flipperDown(Flipper.Direction direction) {
+        if (direction == Flipper.Direction.LEFT) {
+            for (PhysicsBody physicsBody : bodyTypeMap.get(GizmoType.LEFT_FLIPPER)) {
+                Flipper flipper = (Flipper) physicsBody.getShape();
+                flipper.down();
+            }
+        } else if (direction == Flipper.Direction.RIGHT) {
+            for (PhysicsBody physicsBody : bodyTypeMap.get(GizmoType.RIGHT_FLIPPER)) {
+                Flipper flipper = (Flipper) physicsBody.getShape();
+                flipper.down();
+            }
+        }
+    }
+
+    @Override
+    public void tick() {
+        long tickStart = qualityController != null ? System.nanoTime() : 0;
+        long start = 0;
+        if (TickMetrics.ENABLED) {
+            metrics.beginTick();
+            start = System.nanoTime();
+        }
+        for (TickListener listener : tickListeners) {
+            listener.preTick();
+        }
+        if (TickMetrics.ENABLED) {
+            start = metrics.record(preTickPhase, start, 0);
+        }
+        wakeNearFlippers(bodyTypeMap.get(GizmoType.LEFT_FLIPPER));
+        wakeNearFlippers(bodyTypeMap.get(GizmoType.RIGHT_FLIPPER));
+        // BroadPhase，筛选出球与静态物体的候选碰撞对并按类型分组，休眠的球不参与
+        for (PhysicsBody ball : bodyTypeMap.get(GizmoType.BALL)) {
+            if (!ball.isAsleep()) {
+                broadPhase.update(ball);
+            }
+        }
+        candidates.clear();
+        broadPhase.detect(candidates);
+        for (PairBuffer typeCandidates : candidateTypeMap.values()) {
+            typeCandidates.clear();
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            PhysicsBody body = candidates.getBody2(i);
+            PairBuffer typeCandidates = candidateTypeMap.get(((GizmoBody) body).getGizmoType());
+            if (typeCandidates != null) {
+                typeCandidates.add(candidates.getBody1(i), body);
+            }
+        }
+        if (TickMetrics.ENABLED) {
+            start = metrics.record(broadPhasePhase, start, candidates.size());
+        }
+        // 碰撞检测，各监听器的结果按注册顺序合并
+        contacts.clear();
+        if (detectionPool == null) {
+            for (int i = 0; i < tickListeners.size(); i++) {
+                ContactBuffer result = tickListeners.get(i).tick();
+                contacts.addAll(result);
+                if (TickMetrics.ENABLED) {
+                    start = metrics.record(listenerPhases[i], start, result.size());
+                }
+            }
+        } else {
+            // 并行检测时只记录总耗时
+            parallelDetect(contacts);
+            if (TickMetrics.ENABLED) {
+                start = metrics.record(detectPhase, start, contacts.size());
+            }
+        }
+        wakeTouched(contacts);
+        List<ContactConstraint> contactConstraints = collisionDetector.preLocalSolve(contacts);
+        if (TickMetrics.ENABLED) {
+            metrics.record(preLocalSolvePhase, start, contactConstraints.size());
+        }
+        List<PhysicsBody> balls = awakeBalls;
+        balls.clear();
+        for (PhysicsBody ball : bodyTypeMap.get(GizmoType.BALL)) {
+            if (!ball.isAsleep()) {
+                balls.add(ball);
+            }
+        }
+        recordBallPositions(balls);
+        collisionDetector.LocalSolve(solver, gravity, contactConstraints, balls);
+        if (TickMetrics.ENABLED) {
+            start = System.nanoTime();
+        }
+        solveTimeOfImpact(balls);
+        if (TickMetrics.ENABLED) {
+            metrics.record(ccdPhase, start, balls.size());
+        }
+        if (sleepEnabled) {
+            updateSleepStates(balls, contactConstraints);
+        }
+        if (qualityController != null) {
+            qualityController.update(System.nanoTime() - tickStart);
+        }
+        if (TickMetrics.ENABLED) {
+            // 本tick结束后选定的质量，下一个tick生效，未设置自适应质量控制时等级为-1
+            metrics.set(qualityLevelGauge, qualityController != null ? qualityController.getLevel() : -1);
+            metrics.set(qualityIterationsGauge, settings.getSolverIterations());
+            metrics.set(qualitySubstepsGauge, solver.getSubsteps());
+        }
+    }
+
+    /**
+     * 唤醒正在旋转的挡板附近休眠的球
+     *
+     * @param flippers 挡板列表
+     */
+    private void wakeNearFlippers(List<PhysicsBody> flippers) {
+        for (PhysicsBody flipper : flippers) {
+            if (flipper.getAngularVelocity() == 0) {
+                continue;
+            }
+            AABB aabb = flipper.getShape().createAABB();
+            aabb.expand(Settings.DEFAULT_AABB_EXPANSION);
+            wakeCandidates.clear();
+            broadPhase.query(aabb, wakeCandidates);
+            for (PhysicsBody body : wakeCandidates) {
+                if (body.isAsleep()) {
+                    body.wakeUp();
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>唤醒与未休眠的球接触的休眠球</p>
+     * <p>被唤醒的球在本tick只与唤醒它的球求解，与静态物体的接触从下一tick开始恢复</p>
+     *
+     * @param contacts 碰撞检测结果
+     */
+    private void wakeTouched(ContactBuffer contacts) {
+        for (int i = 0; i < contacts.size(); i++) {
+            PhysicsBody body1 = contacts.getBody1(i);
+            PhysicsBody body2 = contacts.getBody2(i);
+            if (body1.isAsleep() != body2.isAsleep()) {
+                body1.wakeUp();
+                body2.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * <p>更新球的静止时间，静止时间达到{@link Settings#DEFAULT_SLEEP_TIME}的球进入休眠</p>
+     * <p>同一接触岛内的球取最短的静止时间，只要岛内有一个球在运动，整个岛都不会休眠</p>
+     *
+     * @param balls              未休眠的球
+     * @param contactConstraints 本tick的碰撞约束
+     */
+    private void updateSleepStates(List<PhysicsBody> balls, List<ContactConstraint> contactConstraints) {
+        for (PhysicsBody ball : balls) {
+            ball.updateSleepTime(Settings.DEFAULT_TICK_FREQUENCY);
+        }
+        for (List<ContactConstraint> island : sleepIslandBuilder.build(contactConstraints)) {
+            double sleepTime = Double.MAX_VALUE;
+            for (ContactConstraint contactConstraint : island) {
+                sleepTime = Math.min(sleepTime, getSleepTime(contactConstraint.getBody1()));
+                sleepTime = Math.min(sleepTime, getSleepTime(contactConstraint.getBody2()));
+            }
+            for (ContactConstraint contactConstraint : island) {
+                setSleepTime(contactConstraint.getBody1(), sleepTime);
+                setSleepTime(contactConstraint.getBody2(), sleepTime);
+            }
+        }
+        for (PhysicsBody ball : balls) {
+            if (ball.getSleepTime() >= Settings.DEFAULT_SLEEP_TIME) {
+                ball.sleep();
+            }
+        }
+    }
+
+    /**
+     * 静态物体不限制休眠
+     */
+    private static double getSleepTime(PhysicsBody body) {
+        return body.getMass().getType() == MassType.NORMAL ? body.getSleepTime() : Double.MAX_VALUE;
+    }
+
+    private static void setSleepTime(PhysicsBody body, double sleepTime) {
+        if (body.getMass().getType() == MassType.NORMAL) {
+            body.setSleepTime(sleepTime);
+        }
+    }
+
+    /**
+     * 记录求解前球的位置，用于连续碰撞检测
+     *
+     * @param balls 球列表
+     */
+    private void recordBallPositions(List<PhysicsBody> balls) {
+        if (ballStartPositions.length < balls.size() * 2) {
+            ballStartPositions = new double[Math.max(balls.size() * 2, ballStartPositions.length * 2)];
+        }
+        for (int i = 0; i < balls.size(); i++) {
+            Transform transform = balls.get(i).getShape().getTransform();
+            ballStartPositions[i * 2] = transform.x;
+            ballStartPositions[i * 2 + 1] = transform.y;
+        }
+    }
+
+    /**
+     * 对本tick位移超过半径的球做连续碰撞检测，防止高速的球穿过障碍物和挡板
+     *
+     * @param balls 球列表
+     */
+    private void solveTimeOfImpact(List<PhysicsBody> balls) {
+        for (int i = 0; i < balls.size(); i++) {
+            PhysicsBody ball = balls.get(i);
+            double startX = ballStartPositions[i * 2];
+            double startY = ballStartPositions[i * 2 + 1];
+            if (!timeOfImpactSolver.isFast((Circle) ball.getShape(), startX, startY)) {
+                continue;
+            }
+            // 查询扫掠范围内的物体
+            AABB swept = ball.getShape().createAABB();
+            double radius = ((Circle) ball.getShape()).getRadius();
+            swept.union(new AABB(startX - radius, startY - radius, startX + radius, startY + radius));
+            ccdCandidates.clear();
+            broadPhase.query(swept, ccdCandidates);
+            ccdCandidates.removeIf(body -> !CCD_TYPES.contains(((GizmoBody) body).getGizmoType()));
+            if (timeOfImpactSolver.solve(ball, startX, startY, ccdCandidates)) {
+                broadPhase.update(ball);
+            }
+        }
+    }
+
+    /**
+     * 并行执行可并行的监听器，其余监听器在调用线程上按顺序执行，结果按注册顺序合并
+     *
+     * @param contacts 碰撞检测结果
+     */
+    private void parallelDetect(ContactBuffer contacts) {
+        detectionTasks.clear();
+        for (TickListener listener : tickListeners) {
+            detectionTasks.add(listener.isParallelizable() ? detectionPool.submit(listener::tick) : null);
+        }
+        detectionResults.clear();
+        for (int i = 0; i < tickListeners.size(); i++) {
+            detectionResults.add(detectionTasks.get(i) == null ? tickListeners.get(i).tick() : null);
+        }
+        for (int i = 0; i < tickListeners.size(); i++) {
+            ForkJoinTask<ContactBuffer> task = detectionTasks.get(i);
+            contacts.addAll(task == null ? detectionResults.get(i) : task.join());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package gizmoball.game;
+
+import gizmoball.engine.collision.detector.DetectorUtil;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.BlackHole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>黑洞引力场，开始游戏时按网格预先计算，之后每个球的受力与黑洞数量无关</p>
+ * <p>每个格子保存四个角上的引力，格子内的球按双线性插值取得受力。
+ * 离格子较近的黑洞引力变化剧烈，不计入插值，而是对球逐个精确计算，同时判断是否吞噬该球</p>
+ * <p>黑洞在游戏中不会移动，移动或增删黑洞后需要重新创建</p>
+ */
+public class GravityField {
+
+    private static final int[] NO_HOLES = new int[0];
+
+    private final BlackHole[] holes;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double cellSize;
+
+    private final int columns;
+
+    private final int rows;
+
+    /**
+     * 支持的最大球半径，更大的球直接精确计算
+     */
+    private final double maxBallRadius;
+
+    /**
+     * 每个格子四个角上不含近处黑洞的单位质量受力，
+     * 按(minX, minY)、(maxX, minY)、(minX, maxY)、(maxX, maxY)的顺序依次存放x, y
+     */
+    private final double[] corners;
+
+    /**
+     * 每个格子的近处黑洞在{@link #holes}中的下标
+     */
+    private final int[][] nearHoles;
+
+    private final double[] scratch = new double[2];
+
+    /**
+     * @param blackHoles    黑洞
+     * @param bounds        引力场范围，范围外的球直接精确计算
+     * @param cellSize      格子边长
+     * @param maxBallRadius 支持的最大球半径
+     */
+    public GravityField(List<PhysicsBody> blackHoles, AABB bounds, double cellSize, double maxBallRadius) {
+        this.holes = new BlackHole[blackHoles.size()];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = (BlackHole) blackHoles.get(i).getShape();
+        }
+        this.minX = bounds.minX;
+        this.minY = bounds.minY;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil((bounds.maxX - bounds.minX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((bounds.maxY - bounds.minY) / cellSize));
+        this.maxBallRadius = maxBallRadius;
+        this.corners = new double[columns * rows * 8];
+        this.nearHoles = new int[columns * rows][];
+        build();
+    }
+
+    private void build() {
+        // 先计算所有网格点上全部黑洞的引力，没有近处黑洞的格子直接使用
+        double[] nodes = new double[(columns + 1) * (rows + 1) * 2];
+        for (int j = 0; j <= rows; j++) {
+            for (int i = 0; i <= columns; i++) {
+                scratch[0] = 0;
+                scratch[1] = 0;
+                for (BlackHole hole : holes) {
+                    accumulate(minX + i * cellSize, minY + j * cellSize, hole, scratch);
+                }
+                int node = (j * (columns + 1) + i) * 2;
+                nodes[node] = scratch[0];
+                nodes[node + 1] = scratch[1];
+            }
+        }
+        List<Integer> near = new ArrayList<>();
+        for (int j = 0; j < rows; j++) {
+            for (int i = 0; i < columns; i++) {
+                int cell = j * columns + i;
+                double cellMinX = minX + i * cellSize;
+                double cellMinY = minY + j * cellSize;
+                near.clear();
+                for (int k = 0; k < holes.length; k++) {
+                    if (isNear(holes[k], cellMinX, cellMinY)) {
+                        near.add(k);
+                    }
+                }
+                if (near.isEmpty()) {
+                    nearHoles[cell] = NO_HOLES;
+                    for (int c = 0; c < 4; c++) {
+                        int node = ((j + c / 2) * (columns + 1) + i + c % 2) * 2;
+                        corners[cell * 8 + c * 2] = nodes[node];
+                        corners[cell * 8 + c * 2 + 1] = nodes[node + 1];
+                    }
+                    continue;
+                }
+                int[] indices = new int[near.size()];
+                for (int k = 0; k < indices.length; k++) {
+                    indices[k] = near.get(k);
+                }
+                nearHoles[cell] = indices;
+                // 网格点可能与近处黑洞重合，不能从总引力中减去，重新计算远处黑洞的引力
+                for (int c = 0; c < 4; c++) {
+                    double x = cellMinX + c % 2 * cellSize;
+                    double y = cellMinY + c / 2 * cellSize;
+                    scratch[0] = 0;
+                    scratch[1] = 0;
+                    for (int k = 0, n = 0; k < holes.length; k++) {
+                        if (n < indices.length && indices[n] == k) {
+                            n++;
+                            continue;
+                        }
+                        accumulate(x, y, holes[k], scratch);
+                    }
+                    corners[cell * 8 + c * 2] = scratch[0];
+                    corners[cell * 8 + c * 2 + 1] = scratch[1];
+                }
+            }
+        }
+    }
+
+    /**
+     * 黑洞是否可能吞噬格子内的球，或离格子过近导致插值误差较大
+     */
+    private boolean isNear(BlackHole hole, double cellMinX, double cellMinY) {
+        Transform transform = hole.getTransform();
+        double dx = Math.max(0, Math.max(cellMinX - transform.x, transform.x - cellMinX - cellSize));
+        double dy = Math.max(0, Math.max(cellMinY - transform.y, transform.y - cellMinY - cellSize));
+        double distance = hole.getRadius() + maxBallRadius + GizmoSettings.GRAVITY_FIELD_EXACT_DISTANCE;
+        return dx * dx + dy * dy <= distance * distance;
+    }
+
+    /**
+     * 累加一个黑洞在(x, y)处的单位质量引力
+     */
+    private static void accumulate(double x, double y, BlackHole hole, double[] out) {
+        double dx = hole.getTransform().x - x;
+        double dy = hole.getTransform().y - y;
+        double r2 = dx * dx + dy * dy;
+        double r = Math.sqrt(r2);
+        double magnitude = hole.getRadius() * GizmoSettings.BLACK_HOLE_GRAVITY / r2 / r;
+        out[0] += dx * magnitude;
+        out[1] += dy * magnitude;
+    }
+
+    /**
+     * 计算球受到的引力，并判断球是否被吞噬
+     *
+     * @param body  球
+     * @param force 写入球受到的引力
+     * @return 是否被黑洞吞噬
+     */
+    public boolean sample(PhysicsBody body, Vector2 force) {
+        Ball ball = (Ball) body.getShape();
+        double x = ball.getTransform().x;
+        double y = ball.getTransform().y;
+        double mass = body.getMass().getMass();
+        double u = (x - minX) / cellSize;
+        double v = (y - minY) / cellSize;
+        int i = (int) Math.floor(u);
+        int j = (int) Math.floor(v);
+        // 超出范围或球过大时逐个精确计算
+        if (i < 0 || i >= columns || j < 0 || j >= rows || ball.getRadius() > maxBallRadius) {
+            scratch[0] = 0;
+            scratch[1] = 0;
+            boolean swallowed = false;
+            for (BlackHole hole : holes) {
+                accumulate(x, y, hole, scratch);
+                swallowed |= DetectorUtil.circleDetect(ball, hole, null, null).isHasCollision();
+            }
+            force.x = scratch[0] * mass;
+            force.y = scratch[1] * mass;
+            return swallowed;
+        }
+        int cell = j * columns + i;
+        int offset = cell * 8;
+        double s = u - i;
+        double t = v - j;
+        double w00 = (1 - s) * (1 - t);
+        double w10 = s * (1 - t);
+        double w01 = (1 - s) * t;
+        double w11 = s * t;
+        scratch[0] = w00 * corners[offset] + w10 * corners[offset + 2] + w01 * corners[offset + 4] + w11 * corners[offset + 6];
+        scratch[1] = w00 * corners[offset + 1] + w10 * corners[offset + 3] + w01 * corners[offset + 5] + w11 * corners[offset + 7];
+        boolean swallowed = false;
+        for (int k : nearHoles[cell]) {
+            accumulate(x, y, holes[k], scratch);
+            swallowed |= DetectorUtil.circleDetect(ball, holes[k], null, null).isHasCollision();
+        }
+        force.x = scratch[0] * mass;
+        force.y = scratch[1] * mass;
+        return swallowed;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
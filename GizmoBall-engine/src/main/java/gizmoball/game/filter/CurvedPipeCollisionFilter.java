@@ -0,0 +1,158 @@
+package gizmoball.game.filter;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.CurvedPipe;
+import lombok.RequiredArgsConstructor;
+
+import static gizmoball.game.GizmoSettings.PIPE_PIERCE_BIAS;
+
+/**
+ * <p>球与弯管道的碰撞过滤器</p>
+ * <p>每个{@link gizmoball.game.listener.PipeListener}持有单独的过滤器，管道监听器始终在调用线程上按顺序执行。
+ * 判断过程只使用基本类型的局部变量，不创建对象</p>
+ */
+@RequiredArgsConstructor
+public class CurvedPipeCollisionFilter implements CollisionFilter {
+
+    private final Vector2 gravity;
+
+    /**
+     * 抵消重力时使用的反向重力
+     */
+    private final Vector2 antiGravity = new Vector2();
+
+    @Override
+    public boolean isAllowedBroadPhase(PhysicsBody body1, PhysicsBody body2) {
+        return true;
+    }
+
+    @Override
+    public boolean isAllowedNarrowPhase(PhysicsBody body1, PhysicsBody body2) {
+        return true;
+    }
+
+    @Override
+    public boolean isAllowedManifold(PhysicsBody body1, PhysicsBody body2, AbstractShape shape, Penetration penetration) {
+        AbstractShape shape1 = body1.getShape();
+        AbstractShape shape2 = body2.getShape();
+
+        if (!(shape2 instanceof CurvedPipe)) {
+            return true;
+        }
+        CurvedPipe curvedPipe = (CurvedPipe) shape2;
+        Ball ball = (Ball) shape1;
+
+        Transform transform1 = curvedPipe.getTransform();
+        Transform transform2 = ball.getTransform();
+        Vector2[] vertices = curvedPipe.getVertices();
+
+        // v1为扇形的圆心，v0和v2为两个管口的外侧顶点
+        double v0x = transform1.getTransformedX(vertices[0]);
+        double v0y = transform1.getTransformedY(vertices[0]);
+        double v1x = transform1.getTransformedX(vertices[1]);
+        double v1y = transform1.getTransformedY(vertices[1]);
+        double v2x = transform1.getTransformedX(vertices[2]);
+        double v2y = transform1.getTransformedY(vertices[2]);
+
+        double ballX = transform2.getX();
+        double ballY = transform2.getY();
+        // 扇形圆心到两条边的向量r1、r2，以及扇形圆心到球心的向量c2c
+        double r1x = v0x - v1x;
+        double r1y = v0y - v1y;
+        double r2x = v2x - v1x;
+        double r2y = v2y - v1y;
+        double c2cx = ballX - v1x;
+        double c2cy = ballY - v1y;
+        double r1CrossC2c = r1x * c2cy - r1y * c2cx;
+        double c2cCrossR2 = c2cx * r2y - c2cy * r2x;
+        double r1CrossR2 = r1x * r2y - r1y * r2x;
+        double distance = Math.sqrt(c2cx * c2cx + c2cy * c2cy);
+        // 圆形是否在扇形的边之中
+        boolean isInSide = r1CrossC2c * c2cCrossR2 >= 0 && r1CrossC2c * r1CrossR2 >= 0;
+        // 圆形是否在扇形之中
+        boolean isInside = distance < curvedPipe.getRadius();
+        if (isInside && isInSide) {
+            // 在内部就要施加反重力
+            maintainPipeProperty(body1, body2, v1x - ballX, v1y - ballY);
+            // 在内和弧线发生碰撞，需要反转法线并改变深度
+            if (distance + ball.getRadius() >= curvedPipe.getRadius()) {
+                penetration.getNormal().negate();
+                penetration.setDepth(ball.getRadius() * 2 - penetration.getDepth());
+                return true;
+            }
+            // 在内但并没有发生碰撞
+            return false;
+        }
+        double r1Magnitude = Math.sqrt(r1x * r1x + r1y * r1y);
+        double r2Magnitude = Math.sqrt(r2x * r2x + r2y * r2y);
+        if (isInside) {
+            double magnitude1 = Math.sqrt((ballX - v0x) * (ballX - v0x) + (ballY - v0y) * (ballY - v0y));
+            double magnitude2 = Math.sqrt((ballX - v2x) * (ballX - v2x) + (ballY - v2y) * (ballY - v2y));
+            if (magnitude1 + PIPE_PIERCE_BIAS < ball.getRadius() || magnitude2 + PIPE_PIERCE_BIAS < ball.getRadius()) {
+                return true;
+            }
+
+            // 严格判断是否从管道口进出
+            Vector2 normal = penetration.getNormal();
+            if ((normal.x * r1x + normal.y * r1y) / r1Magnitude < 1e5 * Epsilon.E ||
+                    (normal.x * r2x + normal.y * r2y) / r2Magnitude < 1e5 * Epsilon.E) {
+                return false;
+            }
+            // 否则视为产生碰撞
+            return true;
+        } else if (isInSide) {
+            //
+            return true;
+        } else {
+            // 在外和弧线发生碰撞，c2c在两条边方向上的投影长度
+            double magnitude0 = Math.abs(c2cx * r1x + c2cy * r1y) / r1Magnitude;
+            double magnitude1 = Math.abs(c2cx * r2x + c2cy * r2y) / r2Magnitude;
+            if (magnitude0 - PIPE_PIERCE_BIAS <= r1Magnitude &&
+                    magnitude1 - PIPE_PIERCE_BIAS <= r1Magnitude) {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 抵消重力，并使球沿弧线切向运动
+     *
+     * @param body1 球
+     * @param body2 弯管道
+     * @param tox   球心到扇形圆心的向量的x分量
+     * @param toy   球心到扇形圆心的向量的y分量
+     */
+    private void maintainPipeProperty(PhysicsBody body1, PhysicsBody body2, double tox, double toy) {
+        body1.clearForce();
+        // 只抵消重力，不再次运行ForceGenerator
+        antiGravity.x = -gravity.x;
+        antiGravity.y = -gravity.y;
+        body1.integrateVelocity(antiGravity, Settings.DEFAULT_TICK_FREQUENCY);
+        Vector2 linearVelocity = body1.getLinearVelocity();
+        if (body1.getShape().getRate() == body2.getShape().getRate()) {
+            double speed = linearVelocity.getMagnitude();
+            double toMagnitude = Math.sqrt(tox * tox + toy * toy);
+            if (toMagnitude <= Epsilon.E) {
+                linearVelocity.zero();
+            } else if (tox * linearVelocity.y - toy * linearVelocity.x > 0) {
+                linearVelocity.x = -toy / toMagnitude * speed;
+                linearVelocity.y = tox / toMagnitude * speed;
+            } else {
+                linearVelocity.x = toy / toMagnitude * speed;
+                linearVelocity.y = -tox / toMagnitude * speed;
+            }
+        }
+        if (linearVelocity.getMagnitude() < 90) {
+            linearVelocity.multiply(90 / linearVelocity.getMagnitude());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package gizmoball.game.filter;
+
+import gizmoball.engine.Settings;
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.geometry.Epsilon;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.geometry.shape.AbstractShape;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.Pipe;
+
+import static gizmoball.game.GizmoSettings.PIPE_PIERCE_BIAS;
+
+/**
+ * <p>球与直管道的碰撞过滤器</p>
+ * <p>每个{@link gizmoball.game.listener.PipeListener}持有单独的过滤器，管道监听器始终在调用线程上按顺序执行，
+ * 因此单次判断用到的中间状态保存在复用的{@link PipeState}中，判断过程不创建对象</p>
+ */
+public class PipeCollisionFilter implements CollisionFilter {
+
+    private final Vector2 gravity;
+
+    /**
+     * 本次判断的状态，每次调用{@link #isAllowedManifold}时覆盖
+     */
+    private final PipeState state = new PipeState();
+
+    /**
+     * 抵消重力时使用的反向重力
+     */
+    private final Vector2 antiGravity = new Vector2();
+
+    /**
+     * 单次判断中球与管道的相对状态
+     */
+    private static final class PipeState {
+        private double ballX;
+        private double ballY;
+
+        private double minX;
+        private double maxX;
+        private double minY;
+        private double maxY;
+        private double radius;
+        private Pipe.PipeDirection pipeDirection;
+
+        private Vector2 linearVelocity;
+    }
+
+    public PipeCollisionFilter(Vector2 gravity) {
+        this.gravity = gravity;
+    }
+
+    @Override
+    public boolean isAllowedBroadPhase(PhysicsBody body1, PhysicsBody body2) {
+        return true;
+    }
+
+    @Override
+    public boolean isAllowedNarrowPhase(PhysicsBody body1, PhysicsBody body2) {
+        return true;
+    }
+
+    @Override
+    public boolean isAllowedManifold(PhysicsBody body1, PhysicsBody body2, AbstractShape shape, Penetration penetration) {
+        AbstractShape shape1 = body1.getShape();
+        AbstractShape shape2 = body2.getShape();
+
+        if (!(shape2 instanceof Pipe)) {
+            return true;
+        }
+        Ball ball = (Ball) shape1;
+        Pipe pipe = (Pipe) shape2;
+
+        double pipeX = pipe.getTransform().getX();
+        double pipeY = pipe.getTransform().getY();
+        PipeState state = this.state;
+        state.ballX = ball.getTransform().getX();
+        state.ballY = ball.getTransform().getY();
+        state.radius = ball.getRadius();
+        state.pipeDirection = pipe.getPipeDirection();
+
+        state.minX = pipeX - pipe.getHalfWidth();
+        state.maxX = pipeX + pipe.getHalfWidth();
+        state.minY = pipeY - pipe.getHalfHeight();
+        state.maxY = pipeY + pipe.getHalfHeight();
+        state.linearVelocity = body1.getLinearVelocity();
+        //防止大圆进入小管道
+        if (state.radius > pipe.getHalfHeight()) {
+            return true;
+        }
+        //圆心在管道两侧，直接弹飞
+        if (isOutPipe(state)) {
+            return true;
+        }
+        //是否与管壁发生碰撞
+        if (!isCollision(state)) {
+            // 没有与管壁发生碰撞并且在管道内，需要反转重力
+            if (isInPipe(state)) {
+                maintainPipeProperty(state, body1, body2);
+            }
+            return false;
+        }
+        if (!isInPipe(state)) {
+            if (penetration.getNormal().dot(pipe.getNormals()[0]) < 1e5 * Epsilon.E || penetration.getNormal().dot(pipe.getNormals()[1]) < 1e5 * Epsilon.E) {
+                return false;
+            }
+            return true;
+        }
+        //与管壁发生碰撞
+        maintainPipeProperty(state, body1, body2);
+        solveCollision(state, ball, pipe, penetration);
+
+        return true;
+    }
+
+    private boolean isInPipe(PipeState state) {
+        return state.ballX > state.minX && state.ballX < state.maxX && state.ballY < state.maxY && state.ballY > state.minY;
+    }
+
+    private void solveCollision(PipeState state, Ball ball, Pipe pipe, Penetration penetration) {
+        Vector2 normal = penetration.getNormal();
+        if (state.pipeDirection == Pipe.PipeDirection.TRANSVERSE) {
+            boolean isHigh = ball.getTransform().y > pipe.getTransform().y;
+            if (isHigh) {
+                penetration.setDepth(state.radius - (state.maxY - ball.getTransform().y));
+                normal.x = 0;
+                normal.y = 1;
+            } else {
+                penetration.setDepth(state.radius - (ball.getTransform().y - state.minY));
+                normal.x = 0;
+                normal.y = -1;
+            }
+        } else {
+            boolean isRight = ball.getTransform().x > pipe.getTransform().x;
+            if (isRight) {
+                penetration.setDepth(state.radius - (state.maxX - ball.getTransform().x));
+                normal.x = 1;
+                normal.y = 0;
+            } else {
+                penetration.setDepth(state.radius - (ball.getTransform().x - state.minX));
+                normal.x = -1;
+                normal.y = 0;
+            }
+        }
+    }
+
+    private boolean isOutPipe(PipeState state) {
+        if (state.pipeDirection == Pipe.PipeDirection.TRANSVERSE) {
+            if (state.ballY > state.maxY || state.ballY < state.minY) {
+                return true;
+            }
+
+            if (state.ballX < state.minX) {
+                return isPierced(state.minX - state.ballX, state.maxY - state.ballY, state.radius) ||
+                        isPierced(state.minX - state.ballX, state.minY - state.ballY, state.radius);
+            } else if (state.ballX > state.maxX) {
+                return isPierced(state.maxX - state.ballX, state.maxY - state.ballY, state.radius) ||
+                        isPierced(state.maxX - state.ballX, state.minY - state.ballY, state.radius);
+            }
+        } else {
+            if (state.ballX > state.maxX || state.ballX < state.minX) {
+                return true;
+            }
+
+            if (state.ballY < state.minY) {
+                return isPierced(state.minX - state.ballX, state.minY - state.ballY, state.radius) ||
+                        isPierced(state.maxX - state.ballX, state.minY - state.ballY, state.radius);
+            } else if (state.ballY > state.maxY) {
+                return isPierced(state.minX - state.ballX, state.maxY - state.ballY, state.radius) ||
+                        isPierced(state.maxX - state.ballX, state.maxY - state.ballY, state.radius);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 管口的顶点是否刺入球内超过{@link gizmoball.game.GizmoSettings#PIPE_PIERCE_BIAS}
+     *
+     * @param dx     顶点相对圆心的x坐标
+     * @param dy     顶点相对圆心的y坐标
+     * @param radius 球的半径
+     * @return boolean
+     */
+    private static boolean isPierced(double dx, double dy, double radius) {
+        return Math.sqrt(dx * dx + dy * dy) + PIPE_PIERCE_BIAS < radius;
+    }
+
+    private boolean isCollision(PipeState state) {
+        if (state.pipeDirection == Pipe.PipeDirection.TRANSVERSE) {
+            return state.ballY + state.radius > state.maxY || state.ballY - state.radius < state.minY;
+        } else {
+            return state.ballX + state.radius > state.maxX || state.ballX - state.radius < state.minX;
+        }
+    }
+
+    private void maintainPipeProperty(PipeState state, PhysicsBody body1, PhysicsBody body2) {
+        Vector2 linearVelocity = state.linearVelocity;
+        body1.clearForce();
+        // 只抵消重力，不再次运行ForceGenerator
+        antiGravity.x = -gravity.x;
+        antiGravity.y = -gravity.y;
+        body1.integrateVelocity(antiGravity, Settings.DEFAULT_TICK_FREQUENCY);
+        if (body1.getShape().getRate() == body2.getShape().getRate()) {
+            if (state.pipeDirection == Pipe.PipeDirection.TRANSVERSE) {
+                linearVelocity.y = 0;
+            } else if (state.pipeDirection == Pipe.PipeDirection.VERTICAL) {
+                linearVelocity.x = 0;
+            }
+        }
+        if (linearVelocity.getMagnitude() < 30) {
+            linearVelocity.multiply(30 / linearVelocity.getMagnitude());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package gizmoball.game.listener;
+
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.Penetration;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.broadphase.SpatialHashGrid;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.collision.detector.DetectorResult;
+import gizmoball.engine.collision.detector.DetectorUtil;
+import gizmoball.engine.collision.manifold.Manifold;
+import gizmoball.engine.collision.manifold.ManifoldSolver;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+public class BallListener implements TickListener {
+
+    private final List<PhysicsBody> balls;
+
+    /**
+     * 球之间的BroadPhase
+     */
+    private final SpatialHashGrid spatialHashGrid = new SpatialHashGrid();
+
+    /**
+     * 候选碰撞对，每个tick复用
+     */
+    private final PairBuffer candidates = new PairBuffer();
+
+    /**
+     * 碰撞检测结果，每个tick复用
+     */
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    /**
+     * 重写碰撞检查类
+     */
+    private final BasicCollisionDetector basicCollisionDetector = new BasicCollisionDetector() {
+
+        private final ManifoldSolver manifoldSolver = new ManifoldSolver();
+
+        private final Penetration penetration = new Penetration();
+
+        @Override
+        public void detect(List<PhysicsBody> bodies1, List<PhysicsBody> bodies2, List<CollisionFilter> listeners, ContactBuffer contacts) {
+            candidates.clear();
+            spatialHashGrid.detect(bodies1, candidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                this.processDetect(candidates.getBody1(i), candidates.getBody2(i), contacts);
+            }
+        }
+
+        private void processDetect(PhysicsBody body1, PhysicsBody body2, ContactBuffer contacts) {
+            Ball ball1 = (Ball) body1.getShape();
+            Ball ball2 = (Ball) body2.getShape();
+            if (!DetectorUtil.AABBDetect(ball1, ball2)) {
+                return;
+            }
+
+            DetectorResult detect = DetectorUtil.circleDetect(ball1, ball2, null, penetration);
+            if (!detect.isHasCollision()) {
+                return;
+            }
+            Manifold manifold = contacts.next();
+            if (!manifoldSolver.getManifold(penetration, ball1, ball2, detect.getApproximateShape(), manifold)) {
+                return;
+            }
+            contacts.commit(body1, body2);
+        }
+    };
+
+    @Override
+    public ContactBuffer tick() {
+        contacts.clear();
+        basicCollisionDetector.detect(balls, null, null, contacts);
+        return contacts;
+    }
+
+    /**
+     * 只读取球和障碍物的位置，可以并行执行
+     */
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+}
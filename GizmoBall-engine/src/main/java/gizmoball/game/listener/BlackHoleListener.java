@@ -0,0 +1,134 @@
+package gizmoball.game.listener;
+
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.geometry.AABB;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.GizmoSettings;
+import gizmoball.game.GravityField;
+import gizmoball.game.entity.Ball;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>黑洞对球的引力和吞噬</p>
+ * <p>引力由{@link GravityField}计算，引力场在第一次使用时按当前的黑洞创建，增删或移动黑洞后需要调用{@link #invalidateGravityField()}</p>
+ * <p>引力不唤醒球，静止在远处的球仍然可以休眠，休眠的球只在引力足以推动它时才被唤醒</p>
+ */
+@RequiredArgsConstructor
+public class BlackHoleListener implements TickListener {
+
+    private final List<PhysicsBody> balls;
+
+    private final List<PhysicsBody> blackHoles;
+
+    /**
+     * 引力场的范围
+     */
+    private final Supplier<AABB> worldBounds;
+
+    /**
+     * 从世界中移除被吞噬的球
+     */
+    private final Consumer<PhysicsBody> remover;
+
+    /**
+     * 世界的重力，用于判断引力能否唤醒休眠的球
+     */
+    private final Vector2 gravity;
+
+    /**
+     * 本tick被吞噬的球，每个tick复用
+     */
+    private final List<PhysicsBody> swallowed = new ArrayList<>();
+
+    /**
+     * 黑洞不产生接触，始终为空
+     */
+    private final ContactBuffer contacts = new ContactBuffer(1);
+
+    private final Vector2 force = new Vector2();
+
+    private GravityField gravityField;
+
+    /**
+     * 按当前的黑洞和球重新创建引力场
+     */
+    public void buildGravityField() {
+        double maxBallRadius = 0;
+        for (PhysicsBody ball : balls) {
+            maxBallRadius = Math.max(maxBallRadius, ((Ball) ball.getShape()).getRadius());
+        }
+        gravityField = new GravityField(blackHoles, worldBounds.get(), GizmoSettings.GRAVITY_FIELD_CELL_SIZE, maxBallRadius);
+    }
+
+    /**
+     * 丢弃引力场，下一次使用时重新创建
+     */
+    public void invalidateGravityField() {
+        gravityField = null;
+    }
+
+    /**
+     * 黑洞和球碰撞，需要在BroadPhase检测之前移除被吞噬的球
+     */
+    @Override
+    public void preTick() {
+        for (PhysicsBody ball : balls) {
+            ball.clearForce();
+        }
+        swallowed.clear();
+        if (blackHoles.isEmpty()) {
+            return;
+        }
+        if (gravityField == null) {
+            buildGravityField();
+        }
+        for (int i = 0; i < balls.size(); i++) {
+            PhysicsBody ball = balls.get(i);
+            if (gravityField.sample(ball, force)) {
+                swallowed.add(ball);
+            } else if (!ball.isAsleep()) {
+                // 引力每个tick都存在，不唤醒球，球能否休眠只取决于其速度
+                ball.applyForce(force.x, force.y, false);
+            } else if (isSignificant(ball, force)) {
+                ball.applyForce(force.x, force.y);
+            }
+        }
+
+        for (PhysicsBody ball : swallowed) {
+            remover.accept(ball);
+        }
+    }
+
+    /**
+     * 引力是否足以推动休眠的球，与球所受的重力比较，重力近似等于使球保持静止的支持力
+     *
+     * @param ball  休眠的球
+     * @param force 球受到的引力
+     * @return boolean
+     */
+    private boolean isSignificant(PhysicsBody ball, Vector2 force) {
+        double weight = ball.getMass().getMass() * ball.getGravityScale() * gravity.getMagnitude();
+        double threshold = weight * GizmoSettings.BLACK_HOLE_WAKE_RATIO;
+        return force.getMagnitudeSquared() > threshold * threshold;
+    }
+
+    @Override
+    public ContactBuffer tick() {
+        return contacts;
+    }
+
+    /**
+     * 吞噬在preTick中完成，tick不做任何事，可以并行执行
+     */
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+}
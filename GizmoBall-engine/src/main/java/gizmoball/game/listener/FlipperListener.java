@@ -1,14 +1,16 @@
 package gizmoball.game.listener;
 
+import gizmoball.engine.collision.broadphase.BroadPhase;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
 import gizmoball.engine.collision.detector.BasicCollisionDetector;
-import gizmoball.engine.collision.manifold.Manifold;
+import gizmoball.engine.collision.detector.NarrowPhase;
 import gizmoball.engine.physics.PhysicsBody;
 import gizmoball.game.entity.Flipper;
-import javafx.util.Pair;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static gizmoball.game.GizmoSettings.DEFAULT_FLIPPER_ANGULAR;
@@ -18,22 +20,54 @@ import static gizmoball.game.GizmoSettings.DEFAULT_FLIPPER_ROTATION;
 @Setter
 public class FlipperListener implements TickListener {
 
-    private final List<PhysicsBody> balls;
-
     private final List<PhysicsBody> flippers;
 
+    /**
+     * BroadPhase筛选出的球与挡板的候选碰撞对
+     */
+    private final PairBuffer candidates;
+
+    /**
+     * 挡板旋转后需要更新BroadPhase
+     */
+    private final BroadPhase broadPhase;
+
     private final BasicCollisionDetector basicCollisionDetector = new BasicCollisionDetector();
 
-    public FlipperListener(List<PhysicsBody> balls, List<PhysicsBody> flippers) {
-        this.balls = balls;
+    /**
+     * 碰撞检测结果，每个tick复用
+     */
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    public FlipperListener(List<PhysicsBody> flippers, PairBuffer candidates, BroadPhase broadPhase) {
         this.flippers = flippers;
+        this.candidates = candidates;
+        this.broadPhase = broadPhase;
     }
 
-
     @Override
-    public List<Pair<Manifold, Pair<PhysicsBody, PhysicsBody>>> tick() {
+    public void preTick() {
         updatePosition(flippers);
-        return basicCollisionDetector.detect(balls, flippers, new ArrayList<>());
+    }
+
+    @Override
+    public ContactBuffer tick() {
+        contacts.clear();
+        basicCollisionDetector.detect(candidates, Collections.emptyList(), contacts);
+        return contacts;
+    }
+
+    /**
+     * 挡板在preTick中旋转，tick只读取球和挡板的位置，可以并行执行
+     */
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public void setNarrowPhase(NarrowPhase narrowPhase) {
+        basicCollisionDetector.setNarrowPhase(narrowPhase);
     }
 
     /**
@@ -51,6 +85,7 @@ public class FlipperListener implements TickListener {
                 if (angular < 30) {
                     setUpVelocity(physicsBody);
                     flipper.flip(DEFAULT_FLIPPER_ROTATION);
+                    broadPhase.update(physicsBody);
                     continue;
                 }
                 //转至30度，停止
@@ -60,6 +95,7 @@ public class FlipperListener implements TickListener {
                 if (flipper.getAngular() > 0) {
                     setDownVelocity(physicsBody);
                     flipper.flip(-DEFAULT_FLIPPER_ROTATION);
+                    broadPhase.update(physicsBody);
                 } else if (flipper.getAngular() == 0) {
                     physicsBody.setAngularVelocity(0);
                 }
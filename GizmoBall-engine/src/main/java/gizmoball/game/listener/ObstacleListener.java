@@ -0,0 +1,45 @@
+package gizmoball.game.listener;
+
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.collision.detector.NarrowPhase;
+import lombok.AllArgsConstructor;
+
+import java.util.Collections;
+
+@AllArgsConstructor
+public class ObstacleListener implements TickListener {
+
+    private final BasicCollisionDetector basicCollisionDetector = new BasicCollisionDetector();
+
+    /**
+     * 碰撞检测结果，每个tick复用
+     */
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    /**
+     * BroadPhase筛选出的球与障碍物的候选碰撞对
+     */
+    private final PairBuffer candidates;
+
+    @Override
+    public ContactBuffer tick() {
+        contacts.clear();
+        basicCollisionDetector.detect(candidates, Collections.emptyList(), contacts);
+        return contacts;
+    }
+
+    /**
+     * 只读取球和障碍物的位置，可以并行执行
+     */
+    @Override
+    public boolean isParallelizable() {
+        return true;
+    }
+
+    @Override
+    public void setNarrowPhase(NarrowPhase narrowPhase) {
+        basicCollisionDetector.setNarrowPhase(narrowPhase);
+    }
+}
@@ -0,0 +1,47 @@
+package gizmoball.game.listener;
+
+import gizmoball.engine.collision.CollisionFilter;
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.game.filter.CurvedPipeCollisionFilter;
+import gizmoball.game.filter.PipeCollisionFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 管道的碰撞过滤器依赖SAT将扇形近似为圆形时的穿透信息，因此始终使用SAT
+ */
+public class PipeListener implements TickListener {
+
+    /**
+     * BroadPhase筛选出的球与管道的候选碰撞对
+     */
+    private final PairBuffer candidates;
+
+    private final List<CollisionFilter> filters;
+
+    private final BasicCollisionDetector collisionDetector = new BasicCollisionDetector();
+
+    /**
+     * 碰撞检测结果，每个tick复用
+     */
+    private final ContactBuffer contacts = new ContactBuffer();
+
+    public PipeListener(PairBuffer candidates, Vector2 gravity) {
+        this.candidates = candidates;
+        this.filters = new ArrayList<>();
+        filters.add(new PipeCollisionFilter(gravity));
+        filters.add(new CurvedPipeCollisionFilter(gravity));
+    }
+
+    @Override
+    public ContactBuffer tick() {
+        contacts.clear();
+        collisionDetector.detect(candidates, filters, contacts);
+        return contacts;
+    }
+
+}
@@ -0,0 +1,43 @@
+package gizmoball.game.listener;
+
+import gizmoball.engine.collision.contact.ContactBuffer;
+import gizmoball.engine.collision.detector.NarrowPhase;
+
+/**
+ * 游戏每一个tick触发一次
+ */
+public interface TickListener {
+
+    /**
+     * <p>每个tick触发一次，返回碰撞检测结果</p>
+     * <p>缓冲区属于监听器，在下次tick时被清空并复用，调用方需要在此之前读取或复制其中的数据</p>
+     *
+     * @return ContactBuffer
+     */
+    ContactBuffer tick();
+
+    /**
+     * 每个tick在BroadPhase检测之前触发一次，用于更新物体的位置或增删物体
+     */
+    default void preTick() {
+    }
+
+    /**
+     * <p>{@link #tick()}是否可以与其他监听器并行执行</p>
+     * <p>只读取物体状态的监听器可以并行执行，会修改物体速度或受力的监听器需要在调用线程上按顺序执行</p>
+     *
+     * @return boolean
+     */
+    default boolean isParallelizable() {
+        return false;
+    }
+
+    /**
+     * <p>设置碰撞检测使用的NarrowPhase，每个监听器使用单独的实例</p>
+     * <p>默认忽略，检测结果依赖特定NarrowPhase的监听器不需要重写</p>
+     *
+     * @param narrowPhase NarrowPhase
+     */
+    default void setNarrowPhase(NarrowPhase narrowPhase) {
+    }
+}
@@ -0,0 +1,178 @@
+package gizmoball.engine.collision.contact;
+
+import gizmoball.engine.collision.broadphase.PairBuffer;
+import gizmoball.engine.collision.detector.BasicCollisionDetector;
+import gizmoball.engine.geometry.Transform;
+import gizmoball.engine.geometry.Vector2;
+import gizmoball.engine.physics.Mass;
+import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.entity.Ball;
+import gizmoball.game.entity.ObstacleRectangle;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * <p>{@link SequentialImpulses}的速度求解和位置求解不应产生临时对象</p>
+ * <p>场景与SequentialImpulsesBenchmark一致：每个球略微嵌入地面，各产生一个碰撞约束。
+ * 预热使求解器被JIT编译后，以{@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}统计当前线程的分配量</p>
+ * <p>按接触岛并行求解时同时统计线程池中工作线程的分配量，每次求解前重新初始化，覆盖接触岛的划分</p>
+ */
+public class SequentialImpulsesAllocationTest {
+
+    private static final int CONSTRAINT_COUNT = 10;
+
+    private static final double RADIUS = 15;
+
+    private static final int WARMUP = 20000;
+
+    private static final int MEASUREMENT = 1000;
+
+    private final SequentialImpulses solver = new SequentialImpulses();
+
+    private final SequentialImpulses islandSolver = new SequentialImpulses();
+
+    /**
+     * 接触岛线程池创建的工作线程
+     */
+    private final List<Thread> workers = new CopyOnWriteArrayList<>();
+
+    private ForkJoinPool islandPool;
+
+    private final List<PhysicsBody> balls = new ArrayList<>();
+
+    private List<ContactConstraint> constraints;
+
+    private com.sun.management.ThreadMXBean threadBean;
+
+    @Before
+    public void setup() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        double width = RADIUS * 4 * CONSTRAINT_COUNT;
+        PhysicsBody floor = new PhysicsBody(new ObstacleRectangle(width / 2, 10, new Transform(1, 0, width / 2, 0)));
+        floor.setMass(new Mass(new Vector2(), 0.0, 0.0));
+        PairBuffer pairs = new PairBuffer(CONSTRAINT_COUNT);
+        for (int i = 0; i < CONSTRAINT_COUNT; i++) {
+            PhysicsBody ball = new PhysicsBody(new Ball(RADIUS, new Transform(1, 0, 0, 0)));
+            ball.setMass(ball.getShape().createMass(1));
+            balls.add(ball);
+            pairs.add(ball, floor);
+        }
+        reset();
+        BasicCollisionDetector detector = new BasicCollisionDetector();
+        ContactBuffer contacts = new ContactBuffer(CONSTRAINT_COUNT);
+        detector.detect(pairs, Collections.emptyList(), contacts);
+        constraints = detector.preLocalSolve(contacts);
+        solver.initialize(constraints);
+
+        islandPool = new ForkJoinPool(2, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+        islandSolver.setIslandPool(islandPool);
+    }
+
+    @After
+    public void tearDown() {
+        if (islandPool != null) {
+            islandPool.shutdownNow();
+        }
+    }
+
+    /**
+     * 恢复球的初始位置和速度，使每次求解的迭代量一致
+     */
+    private void reset() {
+        for (int i = 0; i < CONSTRAINT_COUNT; i++) {
+            PhysicsBody ball = balls.get(i);
+            Transform transform = ball.getShape().getTransform();
+            transform.cost = 1;
+            transform.sint = 0;
+            transform.x = RADIUS * 2 + RADIUS * 4 * i;
+            // 嵌入地面1个单位
+            transform.y = 10 + RADIUS - 1;
+            transform.markModified();
+            ball.getLinearVelocity().x = 0;
+            ball.getLinearVelocity().y = -50;
+            ball.setAngularVelocity(0);
+        }
+    }
+
+    private void solve() {
+        reset();
+        solver.solveVelocity(constraints);
+        solver.solvePosition(constraints);
+    }
+
+    private void solveIslands() {
+        reset();
+        islandSolver.initialize(constraints);
+        islandSolver.solveVelocity(constraints);
+        islandSolver.solvePosition(constraints);
+    }
+
+    /**
+     * 当前线程和所有工作线程的分配量之和
+     */
+    private long getAllocatedBytes() {
+        long allocated = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < workers.size(); i++) {
+            allocated += Math.max(0, threadBean.getThreadAllocatedBytes(workers.get(i).getId()));
+        }
+        return allocated;
+    }
+
+    @Test
+    public void solveDoesNotAllocate() {
+        for (int i = 0; i < WARMUP; i++) {
+            solve();
+        }
+        long thread = Thread.currentThread().getId();
+        // 部分JDK读取分配量本身会分配数组，先测出两次读取之间的固定开销
+        long before = threadBean.getThreadAllocatedBytes(thread);
+        long overhead = threadBean.getThreadAllocatedBytes(thread) - before;
+
+        before = threadBean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASUREMENT; i++) {
+            solve();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(thread) - before - overhead;
+        assertEquals("solveVelocity/solvePosition allocated " + allocated + " bytes in " + MEASUREMENT + " calls", 0, allocated);
+    }
+
+    @Test
+    public void solveIslandsDoesNotAllocate() {
+        for (int i = 0; i < WARMUP; i++) {
+            solveIslands();
+        }
+        assertEquals(CONSTRAINT_COUNT, islandSolver.getIslands().size());
+        long before = getAllocatedBytes();
+        long overhead = getAllocatedBytes() - before;
+
+        int workerCount = workers.size();
+        before = getAllocatedBytes();
+        for (int i = 0; i < MEASUREMENT; i++) {
+            solveIslands();
+        }
+        long allocated = getAllocatedBytes() - before - overhead;
+        // 测量期间新建工作线程会产生分配，且新线程的分配量不在起始值中
+        Assume.assumeTrue(workers.size() == workerCount);
+        assertEquals("initialize/solveVelocity/solvePosition with islands allocated " + allocated + " bytes in " + MEASUREMENT + " calls", 0, allocated);
+    }
+}
@@ -1,30 +0,0 @@
-package gizmoball.game;
-
-public class GizmoSettings {
-
-    /**
-     * 黑洞缩小系数
-     */
-    public static final double BLACK_HOLE_BIAS = 0.5;
-
-    /**
-     * 边界四角缓冲
-     */
-    public static final int BOUNDARY_BUFFER = 500;
-
-
-    /**
-     * 管道穿模误差
-     */
-    public static final double PIPE_PIERCE_BIAS = 5;
-
-    /**
-     * 默认挡板角速度
-     */
-    public static final double DEFAULT_FLIPPER_ANGULAR = 15;
-
-    /**
-     * 默认每tick挡板旋转角度
-     */
-    public static final double DEFAULT_FLIPPER_ROTATION = 6;
-}
@@ -1,12 +1,13 @@
 package gizmoball.ui;
 
+import gizmoball.engine.collision.broadphase.GridBroadPhase;
 import gizmoball.engine.geometry.AABB;
 import gizmoball.engine.geometry.Vector2;
 import gizmoball.engine.geometry.shape.Rectangle;
 import gizmoball.engine.physics.Mass;
 import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.GizmoType;
 import gizmoball.game.GizmoWorld;
-import gizmoball.ui.component.GizmoType;
 import gizmoball.ui.file.PersistentUtil;
 import gizmoball.ui.visualize.GizmoPhysicsBody;
 import lombok.Getter;
@@ -21,11 +22,9 @@ import java.util.List;
 
 import static gizmoball.game.GizmoSettings.BOUNDARY_BUFFER;
 
-
 @Getter
 @Slf4j
-public class GridWorld extends GizmoWorld {
-
+public class GridWorld extends GizmoWorld<GizmoPhysicsBody> {
 
     /**
      * 边界AABB
@@ -47,8 +46,11 @@ public class GridWorld extends GizmoWorld {
         this(gravity, width, height, 30);
     }
 
+    /**
+     * 物件按网格摆放，BroadPhase使用与网格同尺寸的{@link GridBroadPhase}
+     */
     public GridWorld(Vector2 gravity, int width, int height, int gridSize) {
-        super(gravity);
+        super(gravity, new GridBroadPhase(gridSize));
         this.gridSize = gridSize;
         boundaryAABB = new AABB(0, 0, width, height);
         gizmoGridBodies = new GizmoPhysicsBody[(int) (width / gridSize)][(int) (height / gridSize)];
@@ -76,6 +78,14 @@ public class GridWorld extends GizmoWorld {
         return index;
     }
 
+    /**
+     * 黑洞引力场只覆盖边界以内
+     */
+    @Override
+    protected AABB getWorldBounds() {
+        return boundaryAABB;
+    }
+
     /**
      * @see #getGridIndex(double, double)
      */
@@ -150,7 +160,6 @@ public class GridWorld extends GizmoWorld {
         super.addBody(border);
     }
 
-
     public void addBodyToGrid(PhysicsBody body) {
         if (body instanceof GizmoPhysicsBody) {
             this.addBody((GizmoPhysicsBody) body);
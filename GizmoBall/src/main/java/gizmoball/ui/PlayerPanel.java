@@ -1,18 +1,24 @@
 package gizmoball.ui;
 
 import gizmoball.engine.AbstractWorld;
-import gizmoball.engine.Settings;
+import gizmoball.engine.GameLoop;
+import gizmoball.engine.QualityController;
+import gizmoball.engine.TickMetrics;
+import gizmoball.engine.frame.FrameSnapshot;
+import gizmoball.engine.frame.TripleBuffer;
 import gizmoball.engine.geometry.AABB;
 import gizmoball.engine.geometry.Transform;
 import gizmoball.engine.geometry.Vector2;
 import gizmoball.engine.geometry.shape.AbstractShape;
 import gizmoball.engine.geometry.shape.Polygon;
 import gizmoball.engine.physics.PhysicsBody;
+import gizmoball.game.GizmoType;
 import gizmoball.game.entity.Ball;
 import gizmoball.game.entity.Flipper;
 import gizmoball.ui.component.*;
 import gizmoball.ui.visualize.DefaultCanvasRenderer;
 import gizmoball.ui.visualize.GizmoPhysicsBody;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.HostServices;
 import javafx.application.Platform;
@@ -31,6 +37,7 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 import javafx.scene.transform.Affine;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
@@ -38,15 +45,15 @@ import javafx.util.Pair;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ResourceBundle;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class PlayerPanel extends Application implements Initializable {
@@ -127,11 +134,57 @@ public class PlayerPanel extends Application implements Initializable {
     /**
      * 线程相关
      */
-    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    private GameLoop gameLoop;
 
-    private final ScheduledFuture<?>[] scheduledFuture = new ScheduledFuture<?>[1];
+    /**
+     * 渲染计时器，每个脉冲绘制一次最新的渲染快照
+     */
+    private AnimationTimer renderTimer;
+
+    /**
+     * 当前绘制的快照，由{@link TripleBuffer#read()}取得
+     */
+    private FrameSnapshot currentFrame;
+
+    /**
+     * 插值得到的变换，绘制时复用
+     */
+    private final Transform renderTransform = new Transform();
+
+    /**
+     * 渲染线程的性能统计，每帧一个tick，未启用性能统计时为null
+     */
+    private final TickMetrics frameMetrics = TickMetrics.ENABLED ? new TickMetrics() : null;
 
-    private Runnable r;
+    private final int renderPhase = TickMetrics.ENABLED ? frameMetrics.registerPhase("render") : -1;
+
+    /**
+     * 性能统计文字的刷新间隔，单位ns，每帧只绘制缓存的文字
+     */
+    private static final long METRICS_REFRESH_NANOS = 250_000_000L;
+
+    private static final String METRICS_HEADER = String.format("%-24s %8s %8s %6s", "phase", "p50(us)", "p99(us)", "n");
+
+    /**
+     * 缓存的性能统计文字，为null时在下一帧刷新
+     */
+    private String[] metricsText;
+
+    private long metricsRefreshTime;
+
+    /**
+     * 绘制性能统计时复用的变换、颜色和字体
+     */
+    private final Affine metricsTransform = new Affine();
+
+    private final Color metricsBackground = Color.color(0, 0, 0, 0.6);
+
+    private final Font metricsFont = Font.font("Monospaced", 11);
+
+    /**
+     * 是否显示性能统计
+     */
+    private boolean showMetrics = false;
 
     private static final DraggableGizmoComponent[] gizmos = {
             new DraggableGizmoComponent("icons/rectangle.png", "rectangle", GizmoType.RECTANGLE),
@@ -230,16 +283,19 @@ public class PlayerPanel extends Application implements Initializable {
     }
 
     private void initGameOpHBox() {
-        r = () -> {
-            try {
-                world.tick();
-                Platform.runLater(() -> drawGizmo(gizmoCanvas.getGraphicsContext2D()));
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    designGame();
-                    Toast.makeText(primaryStage, e.getMessage(), 2000, 500, 500);
-                    log.error("游戏发生异常: {}", e.getMessage());
-                });
+        gameLoop = new GameLoop(() -> {
+            world.tick();
+            world.publishFrame();
+        });
+        gameLoop.setErrorHandler(e -> Platform.runLater(() -> {
+            designGame();
+            Toast.makeText(primaryStage, e.getMessage(), 2000, 500, 500);
+            log.error("游戏发生异常: {}", e.getMessage());
+        }));
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drawFrame(gizmoCanvas.getGraphicsContext2D(), now);
             }
         };
 
@@ -266,8 +322,14 @@ public class PlayerPanel extends Application implements Initializable {
         highlightSelectedBody();
         inDesign = false;
         world.snapshot();
-        scheduledFuture[0] = scheduledExecutorService.scheduleAtFixedRate(r, 0, (long) (1000.0 / Settings.TICKS_PER_SECOND),
-                TimeUnit.MILLISECONDS);
+        world.buildGravityField();
+        world.getQualityController().reset();
+        // 先发布初始状态，丢弃上一局未读取的快照，初始状态不与上一局插值
+        currentFrame = null;
+        world.resetFrames();
+        world.publishFrame();
+        renderTimer.start();
+        gameLoop.start();
     }
 
     private void designGame() {
@@ -277,7 +339,16 @@ public class PlayerPanel extends Application implements Initializable {
         selectedBody = null;
         highlightSelectedBody();
         inDesign = true;
-        scheduledFuture[0].cancel(true);
+        gameLoop.stop();
+        renderTimer.stop();
+        if (gameLoop.getDroppedTicks() > 0) {
+            log.warn("游戏循环落后，共丢弃{}个tick", gameLoop.getDroppedTicks());
+        }
+        QualityController qualityController = world.getQualityController();
+        if (qualityController.getLevel() < qualityController.getLevels()) {
+            log.info("求解质量已降低至{}/{}，迭代次数{}，子步数{}", qualityController.getLevel(), qualityController.getLevels(),
+                    world.getSettings().getSolverIterations(), world.getSettings().getSubsteps());
+        }
 
         try {
             world.restore();
@@ -331,6 +402,8 @@ public class PlayerPanel extends Application implements Initializable {
         double worldWidth = gizmoCanvas.getWidth();
         double worldHeight = gizmoCanvas.getHeight();
         world = new GridWorld(AbstractWorld.EARTH_GRAVITY, (int) worldWidth, (int) worldHeight, 30);
+        // 物件较多、机器较慢时降低求解质量，避免游戏落后于实际时间
+        world.setQualityController(new QualityController(world.getSettings()));
         preferredSize = new Vector2(world.getGridSize(), world.getGridSize());
         gizmoOpHandler = new GizmoOpHandler(world);
     }
@@ -465,6 +538,17 @@ public class PlayerPanel extends Application implements Initializable {
                 case F1:
                     isDebugMode = !isDebugMode;
                     break;
+                case F2:
+                    if (TickMetrics.ENABLED) {
+                        showMetrics = !showMetrics;
+                        metricsText = null;
+                    }
+                    break;
+                case F3:
+                    if (TickMetrics.ENABLED) {
+                        exportMetrics();
+                    }
+                    break;
                 case DELETE:
                     bindGizmoOp(GizmoCommand.REMOVE);
                     break;
@@ -654,29 +738,9 @@ public class PlayerPanel extends Application implements Initializable {
             if (physicsBody instanceof GizmoPhysicsBody) {
                 physicsBody.drawToCanvas(gc);
                 if (isDebugMode) {
-                    if (physicsBody.getShape() instanceof Ball) {
-                        Vector2 linearVelocity = physicsBody.getLinearVelocity().copy();
-                        Vector2 normalized = linearVelocity.copy().right().getNormalized();
-                        double angularVelocity = physicsBody.getAngularVelocity() * 20;
-                        Transform transform = physicsBody.getShape().getTransform();
-                        gc.setStroke(Color.GREEN);
-                        gc.strokeLine(transform.x, transform.y, transform.x + linearVelocity.x, transform.y + linearVelocity.y);
-                        gc.setStroke(Color.RED);
-                        gc.strokeLine(transform.x, transform.y, transform.x + normalized.x * angularVelocity, transform.y + normalized.y * angularVelocity);
-                    } else {
-                        AbstractShape shape = physicsBody.getShape();
-                        if (shape instanceof Polygon) {
-                            Polygon shape1 = (Polygon) shape;
-                            Vector2[] normals = shape1.getNormals();
-                            Transform transform = physicsBody.getShape().getTransform();
-                            for (Vector2 normal : normals) {
-                                Vector2 multiply = normal.copy().multiply(30);
-                                Vector2 transformed = transform.getTransformed(multiply);
-                                gc.setStroke(Color.YELLOW);
-                                gc.strokeLine(transform.x, transform.y, transformed.x, transformed.y);
-                            }
-                        }
-                    }
+                    Vector2 linearVelocity = physicsBody.getLinearVelocity();
+                    drawDebugInfo(gc, physicsBody, physicsBody.getShape().getTransform(),
+                            linearVelocity.x, linearVelocity.y, physicsBody.getAngularVelocity());
                 }
             } else {
                 canvasRenderer.drawToCanvas(gc, physicsBody);
@@ -684,5 +748,146 @@ public class PlayerPanel extends Application implements Initializable {
         }
     }
 
+    /**
+     * <p>游戏模式下绘制最新的渲染快照</p>
+     * <p>只读取快照而不读取物体的实时状态，并在最新快照记录的上一次发布的状态和最新状态之间按经过的时间插值，
+     * 渲染落后时中间的快照直接丢弃</p>
+     *
+     * @param gc  /
+     * @param now 当前脉冲的时间戳
+     */
+    private void drawFrame(GraphicsContext gc, long now) {
+        long start = 0;
+        if (TickMetrics.ENABLED) {
+            frameMetrics.beginTick();
+            start = System.nanoTime();
+        }
+        TripleBuffer<FrameSnapshot> frames = world.getFrames();
+        if (frames.hasUpdate()) {
+            currentFrame = frames.read();
+        }
+        if (currentFrame == null) {
+            return;
+        }
+        // 延迟一个发布间隔绘制，快照发布时显示上一次发布的状态，再经过与两次发布相同的间隔后显示最新状态
+        long interval = currentFrame.getTime() - currentFrame.getPreviousTime();
+        double alpha = currentFrame.getPreviousTime() == 0 || interval <= 0 ? 1
+                : Math.max(0, Math.min(1, (double) (now - currentFrame.getTime()) / interval));
+
+        clearCanvas(gc);
+        drawGrid(gc);
+        for (int i = 0; i < currentFrame.size(); i++) {
+            PhysicsBody physicsBody = currentFrame.getBody(i);
+            currentFrame.interpolate(i, alpha, renderTransform);
+            if (physicsBody instanceof GizmoPhysicsBody) {
+                ((GizmoPhysicsBody) physicsBody).drawToCanvas(gc, renderTransform);
+                if (isDebugMode) {
+                    drawDebugInfo(gc, physicsBody, renderTransform, currentFrame.getVelocityX(i),
+                            currentFrame.getVelocityY(i), currentFrame.getAngularVelocity(i));
+                }
+            } else {
+                canvasRenderer.drawToCanvas(gc, physicsBody, renderTransform);
+            }
+        }
+        if (TickMetrics.ENABLED) {
+            frameMetrics.record(renderPhase, start, currentFrame.size());
+            if (showMetrics) {
+                drawMetrics(gc, now);
+            }
+        }
+    }
+
+    /**
+     * <p>在左上角绘制各阶段最近若干tick的耗时p50/p99（μs）和数量p50，以及各量规的最新值</p>
+     * <p>文字每{@link #METRICS_REFRESH_NANOS}刷新一次，其余帧直接绘制缓存的文字</p>
+     *
+     * @param gc  /
+     * @param now 当前脉冲的时间戳
+     */
+    private void drawMetrics(GraphicsContext gc, long now) {
+        if (metricsText == null || now - metricsRefreshTime >= METRICS_REFRESH_NANOS) {
+            refreshMetricsText();
+            metricsRefreshTime = now;
+        }
+        gc.save();
+        // 画布坐标系上下翻转，文字需要在未翻转的坐标系中绘制
+        gc.setTransform(metricsTransform);
+        gc.setFill(metricsBackground);
+        gc.fillRect(0, 0, 340, metricsText.length * 14 + 6);
+        gc.setFill(Color.WHITE);
+        gc.setFont(metricsFont);
+        for (int i = 0; i < metricsText.length; i++) {
+            gc.fillText(metricsText[i], 4, (i + 1) * 14);
+        }
+        gc.restore();
+    }
+
+    /**
+     * 按模拟线程和渲染线程的性能统计重新生成文字
+     */
+    private void refreshMetricsText() {
+        TickMetrics metrics = world.getMetrics();
+        int lines = metrics.getPhaseCount() + frameMetrics.getPhaseCount() + metrics.getGaugeCount() + 1;
+        if (metricsText == null || metricsText.length != lines) {
+            metricsText = new String[lines];
+        }
+        metricsText[0] = METRICS_HEADER;
+        int line = 1;
+        line = formatPhases(metrics, line);
+        line = formatPhases(frameMetrics, line);
+        for (int i = 0; i < metrics.getGaugeCount(); i++) {
+            metricsText[line++] = String.format("%-24s %8d", metrics.getGaugeName(i), metrics.getGauge(i));
+        }
+    }
+
+    private int formatPhases(TickMetrics metrics, int line) {
+        for (int i = 0; i < metrics.getPhaseCount(); i++) {
+            metricsText[line++] = String.format("%-24s %8.1f %8.1f %6d", metrics.getPhaseName(i),
+                    metrics.getPercentileNanos(i, 0.5) / 1e3, metrics.getPercentileNanos(i, 0.99) / 1e3,
+                    metrics.getPercentileCount(i, 0.5));
+        }
+        return line;
+    }
+
+    /**
+     * 将最近若干tick的性能统计导出到当前目录
+     */
+    private void exportMetrics() {
+        String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss"));
+        File file = new File("metrics-" + time + ".csv");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            world.getMetrics().writeCsv(writer);
+            Toast.makeText(primaryStage, "已导出到" + file.getName(), 1500, 200, 200);
+        } catch (IOException e) {
+            Toast.makeText(primaryStage, "导出性能统计失败: " + e.getMessage(), 1500, 200, 200);
+            log.error("导出性能统计失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 绘制调试信息，球绘制速度和角速度，多边形绘制法向量
+     */
+    private void drawDebugInfo(GraphicsContext gc, PhysicsBody physicsBody, Transform transform,
+                               double vx, double vy, double angularVelocity) {
+        AbstractShape shape = physicsBody.getShape();
+        if (shape instanceof Ball) {
+            Vector2 normalized = new Vector2(vx, vy).right().getNormalized();
+            double scaledAngularVelocity = angularVelocity * 20;
+            gc.setStroke(Color.GREEN);
+            gc.strokeLine(transform.x, transform.y, transform.x + vx, transform.y + vy);
+            gc.setStroke(Color.RED);
+            gc.strokeLine(transform.x, transform.y, transform.x + normalized.x * scaledAngularVelocity, transform.y + normalized.y * scaledAngularVelocity);
+        } else if (shape instanceof Polygon) {
+            Polygon shape1 = (Polygon) shape;
+            Vector2[] normals = shape1.getNormals();
+            for (Vector2 normal : normals) {
+                Vector2 multiply = normal.copy().multiply(30);
+                Vector2 transformed = transform.getTransformed(multiply);
+                gc.setStroke(Color.YELLOW);
+                gc.strokeLine(transform.x, transform.y, transformed.x, transformed.y);
+            }
+        }
+    }
+
     private boolean isDebugMode = false;
 }
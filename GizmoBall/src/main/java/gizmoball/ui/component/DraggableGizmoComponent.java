@@ -3,6 +3,7 @@ package gizmoball.ui.component;
 
 import gizmoball.engine.geometry.Vector2;
 import gizmoball.engine.physics.Mass;
+import gizmoball.game.GizmoType;
 import gizmoball.game.entity.*;
 import gizmoball.ui.visualize.GizmoPhysicsBody;
 import javafx.scene.Cursor;
@@ -10,6 +11,8 @@ import javafx.scene.layout.VBox;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.function.Function;
 
 import static gizmoball.game.GizmoSettings.BLACK_HOLE_BIAS;
@@ -120,6 +123,22 @@ public class DraggableGizmoComponent extends ImageLabelComponent {
         return gizmoPhysicsBody;
     };
 
+    /**
+     * 各类物件的创建方式
+     */
+    private static final Map<GizmoType, Function<Vector2, GizmoPhysicsBody>> bodyCreators = new EnumMap<>(GizmoType.class);
+
+    static {
+        bodyCreators.put(GizmoType.BALL, ballBodyCreator);
+        bodyCreators.put(GizmoType.CIRCLE, circleBodyCreator);
+        bodyCreators.put(GizmoType.BLACK_HOLE, blackHoleBodyCreator);
+        bodyCreators.put(GizmoType.RECTANGLE, rectangleBodyCreator);
+        bodyCreators.put(GizmoType.TRIANGLE, triangleBodyCreator);
+        bodyCreators.put(GizmoType.PIPE, pipeBodyCreator);
+        bodyCreators.put(GizmoType.CURVED_PIPE, curvedPipeBodyCreator);
+        bodyCreators.put(GizmoType.LEFT_FLIPPER, leftFlipperBodyCreator);
+        bodyCreators.put(GizmoType.RIGHT_FLIPPER, rightFlipperBodyCreator);
+    }
 
     private GizmoType gizmoType;
 
@@ -144,7 +163,7 @@ public class DraggableGizmoComponent extends ImageLabelComponent {
      * @return the physics body.
      */
     public GizmoPhysicsBody createPhysicsBody(Vector2 preferredSize, Vector2 center) {
-        GizmoPhysicsBody physicsBody = (GizmoPhysicsBody) gizmoType.getPhysicsBodySupplier().apply(preferredSize);
+        GizmoPhysicsBody physicsBody = bodyCreators.get(gizmoType).apply(preferredSize);
         physicsBody.getShape().translate(center);
         physicsBody.setGizmoType(gizmoType);
         return physicsBody;
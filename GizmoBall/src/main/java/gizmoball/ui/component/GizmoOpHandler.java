@@ -44,7 +44,10 @@ public class GizmoOpHandler {
             throw new IllegalArgumentException("No function found for command: " + command);
         }
         log.debug("Handling command: " + command);
-        return gizmoOps.get(command).apply(body);
+        boolean result = gizmoOps.get(command).apply(body);
+        // 物件位置或大小可能发生变化，需要同步到BroadPhase
+        world.getBroadPhase().update(body);
+        return result;
     }
 
     /**
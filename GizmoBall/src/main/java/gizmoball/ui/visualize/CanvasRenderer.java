@@ -1,5 +1,6 @@
 package gizmoball.ui.visualize;
 
+import gizmoball.engine.geometry.Transform;
 import gizmoball.engine.physics.PhysicsBody;
 import javafx.scene.canvas.GraphicsContext;
 
@@ -10,4 +11,15 @@ public interface CanvasRenderer {
     };
 
     void drawToCanvas(GraphicsContext graphicsContext, PhysicsBody physicsBody);
+
+    /**
+     * 按给定的变换（如渲染快照插值得到的变换）绘制物体，而不读取物体当前的变换
+     *
+     * @param graphicsContext /
+     * @param physicsBody     物体，只使用其形状的局部几何
+     * @param transform       绘制使用的变换
+     */
+    default void drawToCanvas(GraphicsContext graphicsContext, PhysicsBody physicsBody, Transform transform) {
+        drawToCanvas(graphicsContext, physicsBody);
+    }
 }
@@ -20,8 +20,12 @@ public class DefaultCanvasRenderer implements CanvasRenderer {
 
     @Override
     public void drawToCanvas(GraphicsContext gc, PhysicsBody physicsBody) {
+        drawToCanvas(gc, physicsBody, physicsBody.getShape().getTransform());
+    }
+
+    @Override
+    public void drawToCanvas(GraphicsContext gc, PhysicsBody physicsBody, Transform transform) {
         AbstractShape shape = physicsBody.getShape();
-        Transform transform = shape.getTransform();
 
         if (shape instanceof Polygon) {
             // 画多边形
@@ -32,16 +36,15 @@ public class DefaultCanvasRenderer implements CanvasRenderer {
             double[] xpoints = new double[vertices.length];
             double[] ypoints = new double[vertices.length];
             for (int i = 0; i < vertices.length; i++) {
-                Vector2 transformed = transform.getTransformed(vertices[i]);
-                xpoints[i] = transformed.x;
-                ypoints[i] = transformed.y;
+                xpoints[i] = transform.getTransformedX(vertices[i]);
+                ypoints[i] = transform.getTransformedY(vertices[i]);
             }
             gc.fillPolygon(xpoints, ypoints, vertices.length);
         } else if (shape instanceof Circle) {
             Circle circle = (Circle) shape;
             gc.setFill(FILL_COLOR);
-            gc.fillOval(circle.getTransform().getX() - circle.getRadius(),
-                    circle.getTransform().getY() - circle.getRadius(),
+            gc.fillOval(transform.getX() - circle.getRadius(),
+                    transform.getY() - circle.getRadius(),
                     circle.getRadius() * 2, circle.getRadius() * 2);
         }
     }
@@ -1,17 +1,16 @@
 package gizmoball.ui.visualize;
 
+import gizmoball.engine.geometry.Transform;
 import gizmoball.engine.geometry.shape.AbstractShape;
 import gizmoball.engine.physics.PhysicsBody;
-import gizmoball.ui.component.GizmoType;
+import gizmoball.game.GizmoBody;
+import gizmoball.game.GizmoType;
 import javafx.scene.canvas.GraphicsContext;
-import lombok.Getter;
-import lombok.Setter;
 
-@Getter
-@Setter
-public class GizmoPhysicsBody extends PhysicsBody implements CanvasRenderer {
-
-    private GizmoType gizmoType;
+/**
+ * 可以绘制到Canvas上的物件，按{@link GizmoType}选择渲染器
+ */
+public class GizmoPhysicsBody extends GizmoBody implements CanvasRenderer {
 
     /**
      * 反序列化用
@@ -26,8 +25,7 @@ public class GizmoPhysicsBody extends PhysicsBody implements CanvasRenderer {
     }
 
     public GizmoPhysicsBody(AbstractShape shape, GizmoType gizmoType) {
-        super(shape);
-        this.gizmoType = gizmoType;
+        super(shape, gizmoType);
     }
 
     public void drawToCanvas(GraphicsContext graphicsContext) {
@@ -36,7 +34,17 @@ public class GizmoPhysicsBody extends PhysicsBody implements CanvasRenderer {
 
     @Override
     public void drawToCanvas(GraphicsContext graphicsContext, PhysicsBody physicsBody) {
-        gizmoType.getCanvasRenderer().drawToCanvas(graphicsContext, physicsBody);
+        GizmoRenderers.get(getGizmoType()).drawToCanvas(graphicsContext, physicsBody);
+    }
+
+    /**
+     * 按给定的变换绘制物体
+     *
+     * @param graphicsContext /
+     * @param transform       绘制使用的变换
+     */
+    public void drawToCanvas(GraphicsContext graphicsContext, Transform transform) {
+        GizmoRenderers.get(getGizmoType()).drawToCanvas(graphicsContext, this, transform);
     }
 
 
@@ -0,0 +1,40 @@
+package gizmoball.ui.visualize;
+
+import gizmoball.game.GizmoType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 各类物件的渲染器
+ */
+public class GizmoRenderers {
+
+    private static final Map<GizmoType, CanvasRenderer> RENDERERS = new EnumMap<>(GizmoType.class);
+
+    static {
+        RENDERERS.put(GizmoType.BALL, new SVGRenderer("icons/ball.svg"));
+        RENDERERS.put(GizmoType.CIRCLE, new SVGRenderer("icons/circle.svg"));
+        RENDERERS.put(GizmoType.BLACK_HOLE, new SVGRenderer("icons/black_hole.svg"));
+        RENDERERS.put(GizmoType.RECTANGLE, new SVGRenderer("icons/rectangle.svg"));
+        RENDERERS.put(GizmoType.TRIANGLE, DefaultCanvasRenderer.INSTANCE);
+        RENDERERS.put(GizmoType.PIPE, new SVGRenderer("icons/pipe.svg"));
+        RENDERERS.put(GizmoType.CURVED_PIPE, new SVGRenderer("icons/curved_pipe.svg"));
+        RENDERERS.put(GizmoType.LEFT_FLIPPER, DefaultCanvasRenderer.INSTANCE);
+        RENDERERS.put(GizmoType.RIGHT_FLIPPER, DefaultCanvasRenderer.INSTANCE);
+        RENDERERS.put(GizmoType.BOUNDARY, CanvasRenderer.DO_NOT_RENDER);
+    }
+
+    private GizmoRenderers() {
+    }
+
+    /**
+     * 获取物件类型对应的渲染器
+     *
+     * @param gizmoType 物件类型
+     * @return CanvasRenderer
+     */
+    public static CanvasRenderer get(GizmoType gizmoType) {
+        return RENDERERS.get(gizmoType);
+    }
+}
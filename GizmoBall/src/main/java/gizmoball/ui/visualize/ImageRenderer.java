@@ -46,8 +46,12 @@ public class ImageRenderer implements CanvasRenderer {
 
     @Override
     public void drawToCanvas(GraphicsContext gc, PhysicsBody body) {
+        drawToCanvas(gc, body, body.getShape().getTransform());
+    }
+
+    @Override
+    public void drawToCanvas(GraphicsContext gc, PhysicsBody body, Transform transform) {
         AbstractShape shape = body.getShape();
-        Transform transform = shape.getTransform();
         int scale = shape.getRate();
 
         final int gridSize = 30; // TODO how to get gridSize or render without gridSize
@@ -2,7 +2,6 @@ package gizmoball.ui.visualize;
 
 import gizmoball.engine.geometry.AABB;
 import gizmoball.engine.geometry.Transform;
-import gizmoball.engine.geometry.shape.AbstractShape;
 import gizmoball.engine.physics.PhysicsBody;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.transform.Affine;
@@ -21,9 +20,12 @@ public class SVGRenderer implements CanvasRenderer {
 
     @Override
     public void drawToCanvas(GraphicsContext gc, PhysicsBody body) {
-        AbstractShape shape = body.getShape();
-        Transform transform = shape.getTransform();
+        drawToCanvas(gc, body, body.getShape().getTransform());
+    }
 
+    @Override
+    public void drawToCanvas(GraphicsContext gc, PhysicsBody body, Transform transform) {
+        // 使用SVG渲染的物体为圆形或游戏中不旋转的物体，AABB尺寸不受变换影响，直接取自形状当前的AABB
         AABB aabb = body.getShape().createAABB();
         double shapeHeight = aabb.maxY - aabb.minY;
         double shapeWidth = aabb.maxX - aabb.minX;